@@ -0,0 +1,62 @@
+package com.microservice.gateway.batch;
+
+import com.microservice.gateway.security.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * POST /batch: runs up to max-items sub-requests concurrently through the gateway's routes
+ * after a single token check, and streams the results back in input order, either as a
+ * JSON array or as NDJSON when the client accepts application/x-ndjson.
+ */
+@RestController
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+    private final JwtUtil jwtUtil;
+    private final int maxItems;
+    private final int maxConcurrency;
+
+    public BatchController(BatchDispatcher batchDispatcher, JwtUtil jwtUtil,
+                           @Value("${gateway.batch.max-items:20}") int maxItems,
+                           @Value("${gateway.batch.max-concurrency:8}") int maxConcurrency) {
+        this.batchDispatcher = batchDispatcher;
+        this.jwtUtil = jwtUtil;
+        this.maxItems = maxItems;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @PostMapping(path = "/batch", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BatchItemResult> batch(@RequestBody BatchRequest request, ServerWebExchange exchange) {
+        if (jwtUtil.resolveClaims(exchange) == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing or invalid token");
+        }
+        List<BatchItem> items = request.requests();
+        if (items == null || items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must contain at least one request");
+        }
+        if (items.size() > maxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch exceeds " + maxItems + " requests");
+        }
+        for (BatchItem item : items) {
+            if (item.path() == null || !item.path().startsWith("/") || item.path().startsWith("//")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid path for item " + item.id());
+            }
+            if (item.path().equals("/batch") || item.path().startsWith("/batch?")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batches cannot be nested");
+            }
+        }
+
+        return Flux.fromIterable(items)
+                .flatMapSequential(item -> batchDispatcher.dispatch(exchange, item), maxConcurrency);
+    }
+}
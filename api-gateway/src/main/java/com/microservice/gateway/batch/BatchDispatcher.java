@@ -0,0 +1,194 @@
+package com.microservice.gateway.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.gateway.security.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs batch sub-requests in-process through the gateway's own routes and filters, as if
+ * each had arrived separately, and captures their responses in memory.
+ */
+@Component
+public class BatchDispatcher {
+
+    private static final List<String> RETURNED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL, HttpHeaders.RETRY_AFTER);
+
+    /**
+     * Item headers that may not override the batch request's own: its credentials, and the
+     * hop-by-hop and forwarding headers that describe the connection it arrived on.
+     */
+    private static final Set<String> PROTECTED_HEADERS = Set.of(
+            HttpHeaders.AUTHORIZATION.toLowerCase(), HttpHeaders.COOKIE.toLowerCase(),
+            HttpHeaders.HOST.toLowerCase(), HttpHeaders.CONNECTION.toLowerCase(), "keep-alive",
+            HttpHeaders.TE.toLowerCase(), HttpHeaders.TRAILER.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.UPGRADE.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), "forwarded", "x-real-ip");
+
+    private final RouteLocator routeLocator;
+    private final FilteringWebHandler filteringWebHandler;
+    private final ServerCodecConfigurer serverCodecConfigurer;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private final Duration itemTimeout;
+    private final int maxItemBytes;
+
+    public BatchDispatcher(RouteLocator routeLocator, FilteringWebHandler filteringWebHandler,
+                           ServerCodecConfigurer serverCodecConfigurer, JwtUtil jwtUtil, ObjectMapper objectMapper,
+                           @Value("${gateway.batch.item-timeout:PT5S}") Duration itemTimeout,
+                           @Value("${gateway.batch.max-item-bytes:1048576}") int maxItemBytes) {
+        this.routeLocator = routeLocator;
+        this.filteringWebHandler = filteringWebHandler;
+        this.serverCodecConfigurer = serverCodecConfigurer;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.itemTimeout = itemTimeout;
+        this.maxItemBytes = maxItemBytes;
+    }
+
+    public Mono<BatchItemResult> dispatch(ServerWebExchange parent, BatchItem item) {
+        ServerWebExchange exchange;
+        BatchResponse response = new BatchResponse(bufferFactory, maxItemBytes);
+        try {
+            exchange = new DefaultServerWebExchange(subRequest(parent.getRequest(), item), response,
+                    new DefaultWebSessionManager(), serverCodecConfigurer, new AcceptHeaderLocaleContextResolver());
+        } catch (Exception e) {
+            return Mono.just(error(item, HttpStatus.BAD_REQUEST, e.getMessage()));
+        }
+        jwtUtil.shareClaims(parent, exchange);
+
+        return lookupRoute(exchange)
+                .flatMap(route -> {
+                    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+                    return filteringWebHandler.handle(exchange)
+                            .then(Mono.fromSupplier(() -> result(item, response)));
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> error(item, HttpStatus.NOT_FOUND, "No route for " + item.path())))
+                .timeout(itemTimeout)
+                .onErrorResume(e -> Mono.just(errorResult(item, e)));
+    }
+
+    private Mono<Route> lookupRoute(ServerWebExchange exchange) {
+        return routeLocator.getRoutes()
+                .concatMap(route -> Mono.just(route).filterWhen(r -> {
+                    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR, r.getId());
+                    return r.getPredicate().apply(exchange);
+                }))
+                .next();
+    }
+
+    private ServerHttpRequest subRequest(ServerHttpRequest parent, BatchItem item) throws IOException {
+        HttpMethod method = HttpMethod.valueOf(item.method() != null ? item.method().toUpperCase() : "GET");
+        URI uri = parent.getURI().resolve(item.path());
+        byte[] body = item.body() != null ? objectMapper.writeValueAsBytes(item.body()) : null;
+
+        ServerHttpRequest request = parent.mutate()
+                .method(method)
+                .uri(uri)
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers.remove(HttpHeaders.CONTENT_TYPE);
+                    if (body != null) {
+                        headers.setContentType(MediaType.APPLICATION_JSON);
+                        headers.setContentLength(body.length);
+                    }
+                    if (item.headers() != null) {
+                        item.headers().forEach((name, value) -> {
+                            if (!isProtected(name)) {
+                                headers.set(name, value);
+                            }
+                        });
+                    }
+                    // Item bodies are embedded in the batch JSON, so they must not be compressed
+                    headers.remove(HttpHeaders.ACCEPT_ENCODING);
+                })
+                .build();
+        return new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return body != null ? Flux.just(bufferFactory.wrap(body)) : Flux.empty();
+            }
+        };
+    }
+
+    private static boolean isProtected(String name) {
+        String lower = name.toLowerCase();
+        return PROTECTED_HEADERS.contains(lower) || lower.startsWith("x-forwarded-") || lower.startsWith("proxy-");
+    }
+
+    private BatchItemResult result(BatchItem item, BatchResponse response) {
+        HttpStatusCode status = response.getStatusCode() != null ? response.getStatusCode() : HttpStatus.OK;
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : RETURNED_HEADERS) {
+            String value = response.getHeaders().getFirst(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return new BatchItemResult(item.id(), status.value(), headers, parseBody(response));
+    }
+
+    private Object parseBody(BatchResponse response) {
+        byte[] bytes = response.getBodyBytes();
+        if (bytes.length == 0) {
+            return null;
+        }
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType != null && (contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                || contentType.getSubtype().endsWith("+json"))) {
+            try {
+                return objectMapper.readTree(bytes);
+            } catch (Exception e) {
+                // Fall through and return the raw text
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private BatchItemResult errorResult(BatchItem item, Throwable e) {
+        if (e instanceof TimeoutException) {
+            return error(item, HttpStatus.GATEWAY_TIMEOUT, "Timed out after " + itemTimeout.toMillis() + " ms");
+        }
+        if (e instanceof ResponseStatusException statusException) {
+            return error(item, statusException.getStatusCode(), statusException.getReason());
+        }
+        return error(item, HttpStatus.BAD_GATEWAY, e.getMessage());
+    }
+
+    private BatchItemResult error(BatchItem item, HttpStatusCode status, String message) {
+        return new BatchItemResult(item.id(), status.value(), Map.of(), Map.of("error", String.valueOf(message)));
+    }
+}
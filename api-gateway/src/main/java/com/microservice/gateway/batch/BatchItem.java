@@ -0,0 +1,11 @@
+package com.microservice.gateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * One sub-request of a batch. path includes any query string; body is sent as JSON.
+ */
+public record BatchItem(String id, String method, String path, Map<String, String> headers, JsonNode body) {
+}
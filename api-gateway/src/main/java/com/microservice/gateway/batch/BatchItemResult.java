@@ -0,0 +1,9 @@
+package com.microservice.gateway.batch;
+
+import java.util.Map;
+
+/**
+ * Outcome of one sub-request. body is the parsed JSON response, or text for other content types.
+ */
+public record BatchItemResult(String id, int status, Map<String, String> headers, Object body) {
+}
@@ -0,0 +1,6 @@
+package com.microservice.gateway.batch;
+
+import java.util.List;
+
+public record BatchRequest(List<BatchItem> requests) {
+}
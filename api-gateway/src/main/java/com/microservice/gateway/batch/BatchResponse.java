@@ -0,0 +1,66 @@
+package com.microservice.gateway.batch;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory response for a batch sub-request; the body is buffered up to maxBytes.
+ */
+class BatchResponse extends AbstractServerHttpResponse {
+
+    private final int maxBytes;
+    private volatile byte[] body = new byte[0];
+
+    BatchResponse(DataBufferFactory bufferFactory, int maxBytes) {
+        super(bufferFactory);
+        this.maxBytes = maxBytes;
+    }
+
+    byte[] getBodyBytes() {
+        return body;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getNativeResponse() {
+        return (T) this;
+    }
+
+    @Override
+    protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> publisher) {
+        return DataBufferUtils.join(Flux.from(publisher), maxBytes)
+                .onErrorMap(e -> new ResponseStatusException(HttpStatus.INSUFFICIENT_STORAGE,
+                        "Batch item response exceeds " + maxBytes + " bytes"))
+                .doOnNext(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    body = bytes;
+                })
+                .then();
+    }
+
+    @Override
+    protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> publisher) {
+        return writeWithInternal(Flux.from(publisher).concatMap(Flux::from));
+    }
+
+    @Override
+    protected void applyStatusCode() {
+    }
+
+    @Override
+    protected void applyHeaders() {
+    }
+
+    @Override
+    protected void applyCookies() {
+    }
+}
@@ -0,0 +1,38 @@
+package com.microservice.gateway.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Admin endpoint for the gateway response cache.
+ * GET /actuator/responsecache shows usage; DELETE /actuator/responsecache?pathPrefix=/products
+ * purges matching entries; pathPrefix=/ purges everything.
+ */
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+
+    private final ResponseCacheStore responseCacheStore;
+
+    public ResponseCacheEndpoint(ResponseCacheStore responseCacheStore) {
+        this.responseCacheStore = responseCacheStore;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return Map.of(
+                "entries", responseCacheStore.size(),
+                "bytes", responseCacheStore.totalBytes(),
+                "maxBytes", responseCacheStore.maxBytes());
+    }
+
+    @DeleteOperation
+    public Map<String, Object> purge(String pathPrefix) {
+        int purged = responseCacheStore.purgeByPathPrefix(pathPrefix);
+        return Map.of("purged", purged);
+    }
+}
@@ -0,0 +1,191 @@
+package com.microservice.gateway.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Byte-bounded LRU store of whole upstream responses.
+ *
+ * Bodies live in pooled direct Netty buffers so cached data stays off the heap.
+ * Expired entries are kept for up to max-stale so they can still back fallbacks.
+ * Readers receive a retained duplicate of the body, which the response write releases,
+ * so an entry evicted while it is being served is only freed after the last write.
+ */
+@Component
+public class ResponseCacheStore {
+
+    private final long maxBytes;
+    private final long maxStaleNanos;
+    private final ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+    private final LinkedHashMap<CacheKey, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public ResponseCacheStore(@Value("${gateway.response-cache.max-bytes:67108864}") long maxBytes,
+                              @Value("${gateway.response-cache.max-stale:PT10M}") Duration maxStale,
+                              MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.maxStaleNanos = maxStale.toNanos();
+        Gauge.builder("gateway.response-cache.bytes", this, ResponseCacheStore::totalBytes)
+                .register(meterRegistry);
+        Gauge.builder("gateway.response-cache.entries", this, ResponseCacheStore::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param scope permission scope of the caller, so differently privileged callers never share entries
+     */
+    public record CacheKey(String routeId, String path, String query, String scope, String encoding) {
+    }
+
+    public record CachedResponse(HttpStatusCode status, HttpHeaders headers, ByteBuf body,
+                                 long storedAtNanos, long expiresAtNanos) {
+
+        public String etag() {
+            return headers.getETag();
+        }
+
+        public long ageSeconds(long now) {
+            return Duration.ofNanos(now - storedAtNanos).toSeconds();
+        }
+    }
+
+    /**
+     * A cache hit. The body is a retained duplicate owned by the caller, who must release
+     * it or hand it to a response write.
+     */
+    public record Hit(CachedResponse entry, ByteBuf body) {
+    }
+
+    public Hit lookup(CacheKey key) {
+        return lookup(key, 0);
+    }
+
+    /**
+     * Like {@link #lookup} but also returns entries up to max-stale past their expiry, for
+     * serving when the upstream is unavailable.
+     */
+    public Hit lookupStale(CacheKey key) {
+        return lookup(key, maxStaleNanos);
+    }
+
+    private synchronized Hit lookup(CacheKey key, long staleNanos) {
+        CachedResponse entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long expiredFor = System.nanoTime() - entry.expiresAtNanos();
+        if (expiredFor > maxStaleNanos) {
+            remove(key);
+            return null;
+        }
+        if (expiredFor > staleNanos) {
+            return null;
+        }
+        return new Hit(entry, entry.body().retainedDuplicate());
+    }
+
+    /**
+     * Allocates a pooled direct buffer for capturing a response body; the capacity never
+     * grows past maxCapacity. Ownership passes to the store on {@link #put}.
+     */
+    public ByteBuf allocateBody(int initialCapacity, int maxCapacity) {
+        int max = (int) Math.min(maxCapacity, maxBytes);
+        return allocator.directBuffer(Math.min(initialCapacity, max), max);
+    }
+
+    /**
+     * Stores a response; the store takes ownership of body and releases it on eviction.
+     */
+    public void put(CacheKey key, HttpStatusCode status, HttpHeaders headers, ByteBuf body, Duration ttl) {
+        int size = body.capacity();
+        if (size > maxBytes) {
+            body.release();
+            return;
+        }
+        long now = System.nanoTime();
+        CachedResponse entry = new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body,
+                now, now + ttl.toNanos());
+
+        synchronized (this) {
+            CachedResponse previous = entries.put(key, entry);
+            if (previous != null) {
+                totalBytes -= previous.body().capacity();
+                previous.body().release();
+            }
+            totalBytes += size;
+            Iterator<Map.Entry<CacheKey, CachedResponse>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                CachedResponse evicted = eldest.next().getValue();
+                eldest.remove();
+                totalBytes -= evicted.body().capacity();
+                evicted.body().release();
+            }
+        }
+    }
+
+    /**
+     * Removes every entry whose path starts with the prefix.
+     * @return number of entries removed
+     */
+    public int purgeByPathPrefix(String pathPrefix) {
+        return purge(key -> key.path().startsWith(pathPrefix));
+    }
+
+    public int purgeRoute(String routeId) {
+        return purge(key -> key.routeId().equals(routeId));
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    @PreDestroy
+    public void clear() {
+        purge(key -> true);
+    }
+
+    private synchronized int purge(Predicate<CacheKey> matcher) {
+        int removed = 0;
+        Iterator<Map.Entry<CacheKey, CachedResponse>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<CacheKey, CachedResponse> entry = iterator.next();
+            if (matcher.test(entry.getKey())) {
+                iterator.remove();
+                totalBytes -= entry.getValue().body().capacity();
+                entry.getValue().body().release();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private void remove(CacheKey key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.body().capacity();
+            removed.body().release();
+        }
+    }
+}
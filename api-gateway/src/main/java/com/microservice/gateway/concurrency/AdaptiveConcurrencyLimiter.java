@@ -0,0 +1,231 @@
+package com.microservice.gateway.concurrency;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Concurrency limit for one upstream that adapts to observed round-trip times.
+ *
+ * Samples are aggregated into windows. At the end of each window the limit moves by the
+ * gradient between the long-term RTT and the window's RTT: when latency climbs above the
+ * long-term baseline the limit shrinks, otherwise it grows by roughly sqrt(limit). A window
+ * containing failures backs the limit off multiplicatively. Requests over the limit wait in
+ * a short FIFO queue for a released permit.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public record Settings(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance,
+                           double backoffRatio, Duration window, int minWindowSamples, int longWindow) {
+    }
+
+    private final Settings settings;
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private double longRttNanos;
+    private long windowStartNanos = System.nanoTime();
+    private long windowRttSumNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public AdaptiveConcurrencyLimiter(Settings settings) {
+        this.settings = settings;
+        this.limit = settings.initialLimit();
+    }
+
+    /**
+     * Emits a permit immediately, after queueing for at most maxWait, or an empty Optional
+     * if the queue is full or the wait elapses.
+     */
+    public Mono<Optional<Permit>> acquire(int maxQueueSize, Duration maxWait) {
+        return Mono.defer(() -> {
+            Waiter waiter;
+            synchronized (this) {
+                if (inFlight < (int) limit) {
+                    inFlight++;
+                    return Mono.just(Optional.of(new Permit(inFlight)));
+                }
+                if (queue.size() >= maxQueueSize || maxWait.isZero()) {
+                    return Mono.just(Optional.<Permit>empty());
+                }
+                waiter = new Waiter();
+                queue.addLast(waiter);
+            }
+            return Mono.<Optional<Permit>>create(sink -> waiter.attach(sink))
+                    .timeout(maxWait, Mono.just(Optional.empty()));
+        });
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    private void release(Permit permit, Outcome outcome) {
+        List<Waiter> granted;
+        synchronized (this) {
+            inFlight--;
+            if (outcome != Outcome.IGNORED) {
+                sample(System.nanoTime() - permit.startNanos, permit.inFlightAtStart, outcome == Outcome.DROPPED);
+            }
+            granted = grantQueued();
+        }
+        granted.forEach(Waiter::deliver);
+    }
+
+    /**
+     * Hands free permits to queued waiters; must be called holding the lock.
+     */
+    private List<Waiter> grantQueued() {
+        List<Waiter> granted = new ArrayList<>();
+        while (inFlight < (int) limit && !queue.isEmpty()) {
+            Waiter waiter = queue.pollFirst();
+            inFlight++;
+            waiter.permit = new Permit(inFlight);
+            granted.add(waiter);
+        }
+        return granted;
+    }
+
+    private void sample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        long now = System.nanoTime();
+        windowRttSumNanos += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+        windowDropped |= dropped;
+        if (now - windowStartNanos < settings.window().toNanos() || windowSamples < settings.minWindowSamples()) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSumNanos / windowSamples;
+        longRttNanos = longRttNanos == 0
+                ? shortRtt
+                : longRttNanos + (shortRtt - longRttNanos) / settings.longWindow();
+        // Let the baseline follow a sustained drop in latency instead of lagging far behind it
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double newLimit;
+        if (windowDropped) {
+            newLimit = limit * settings.backoffRatio();
+        } else if (windowMaxInFlight * 2 < limit) {
+            // Demand never came close to the limit, so this window says nothing about capacity
+            newLimit = limit;
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, settings.rttTolerance() * longRttNanos / shortRtt));
+            newLimit = limit * gradient + Math.sqrt(limit);
+        }
+        double smoothed = limit * (1 - settings.smoothing()) + newLimit * settings.smoothing();
+        limit = Math.max(settings.minLimit(), Math.min(settings.maxLimit(), smoothed));
+
+        windowStartNanos = now;
+        windowRttSumNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    private enum Outcome {
+        SUCCESS, DROPPED, IGNORED
+    }
+
+    /**
+     * A slot in the limit. Exactly one of success, dropped or ignore should be called;
+     * later calls are no-ops.
+     */
+    public final class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void success() {
+            finish(Outcome.SUCCESS);
+        }
+
+        /**
+         * The request failed in a way that suggests overload, such as an error or 5xx.
+         */
+        public void dropped() {
+            finish(Outcome.DROPPED);
+        }
+
+        /**
+         * Releases the slot without an RTT sample, e.g. when the client cancelled.
+         */
+        public void ignore() {
+            finish(Outcome.IGNORED);
+        }
+
+        private void finish(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                release(this, outcome);
+            }
+        }
+    }
+
+    private final class Waiter {
+
+        private MonoSink<Optional<Permit>> sink;
+        private Permit permit;
+        private boolean cancelled;
+
+        void attach(MonoSink<Optional<Permit>> sink) {
+            boolean ready;
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                this.sink = sink;
+                ready = permit != null;
+            }
+            sink.onCancel(this::cancel);
+            if (ready) {
+                sink.success(Optional.of(permit));
+            }
+        }
+
+        void deliver() {
+            MonoSink<Optional<Permit>> target;
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                if (cancelled) {
+                    return;
+                }
+                target = sink;
+            }
+            if (target != null) {
+                target.success(Optional.of(permit));
+            }
+        }
+
+        private void cancel() {
+            Permit orphaned;
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                cancelled = true;
+                queue.remove(this);
+                orphaned = permit;
+            }
+            if (orphaned != null) {
+                orphaned.ignore();
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.microservice.gateway.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link AdaptiveConcurrencyLimiter} per upstream service, created on first use.
+ * Routes that share an upstream share its limit.
+ */
+@Component
+public class ConcurrencyLimiterRegistry {
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimiter.Settings settings;
+
+    public ConcurrencyLimiterRegistry(MeterRegistry meterRegistry,
+                                      @Value("${gateway.concurrency.initial-limit:20}") int initialLimit,
+                                      @Value("${gateway.concurrency.min-limit:4}") int minLimit,
+                                      @Value("${gateway.concurrency.max-limit:1000}") int maxLimit,
+                                      @Value("${gateway.concurrency.smoothing:0.2}") double smoothing,
+                                      @Value("${gateway.concurrency.rtt-tolerance:1.5}") double rttTolerance,
+                                      @Value("${gateway.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                      @Value("${gateway.concurrency.window:PT1S}") Duration window,
+                                      @Value("${gateway.concurrency.min-window-samples:10}") int minWindowSamples,
+                                      @Value("${gateway.concurrency.long-window:100}") int longWindow) {
+        this.meterRegistry = meterRegistry;
+        this.settings = new AdaptiveConcurrencyLimiter.Settings(initialLimit, minLimit, maxLimit, smoothing,
+                rttTolerance, backoffRatio, window, minWindowSamples, longWindow);
+    }
+
+    public AdaptiveConcurrencyLimiter get(String upstream) {
+        return limiters.computeIfAbsent(upstream, this::create);
+    }
+
+    /**
+     * Largest ratio of queued requests to limit across upstreams, a measure of how far
+     * demand exceeds what the upstreams currently accept.
+     */
+    public double maxQueueRatio() {
+        double max = 0;
+        for (AdaptiveConcurrencyLimiter limiter : limiters.values()) {
+            max = Math.max(max, (double) limiter.getQueued() / Math.max(1, limiter.getLimit()));
+        }
+        return max;
+    }
+
+    private AdaptiveConcurrencyLimiter create(String upstream) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("upstream", upstream).register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("upstream", upstream).register(meterRegistry);
+        Gauge.builder("gateway.concurrency.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                .tag("upstream", upstream).register(meterRegistry);
+        return limiter;
+    }
+}
@@ -0,0 +1,118 @@
+package com.microservice.gateway.discovery;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Instance lists kept current by the service-registry change feed. Only UP instances are
+ * listed, but a service stays known to the feed after its last instance is cancelled or
+ * goes down, so an empty list means "no instances" rather than "not tracked". While the feed is disconnected the registry is not live and load balancers fall
+ * back to the polled Eureka lists. Listeners registered with {@link #onInstanceUp} are told
+ * about every instance that becomes UP, including those in a (re)connect snapshot.
+ */
+@Component
+public class PushedInstanceRegistry {
+
+    private volatile Map<String, Map<String, ServiceInstance>> services = new ConcurrentHashMap<>();
+    private volatile boolean live;
+    private final Timer lag;
+    private final MeterRegistry meterRegistry;
+    private final List<Consumer<ServiceInstance>> upListeners = new CopyOnWriteArrayList<>();
+
+    public PushedInstanceRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lag = Timer.builder("gateway.registry-feed.lag")
+                .description("Time from a registry change until the gateway applied it")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("gateway.registry-feed.connected", this, registry -> registry.live ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public void onInstanceUp(Consumer<ServiceInstance> listener) {
+        upListeners.add(listener);
+    }
+
+    public void apply(RegistryEvent event) {
+        List<ServiceInstance> cameUp = new ArrayList<>();
+        if (event.type() == RegistryEvent.Type.SNAPSHOT) {
+            Map<String, Map<String, ServiceInstance>> previous = services;
+            Map<String, Map<String, ServiceInstance>> snapshot = new ConcurrentHashMap<>();
+            for (RegistryInstance instance : event.instances()) {
+                Map<String, ServiceInstance> instances =
+                        snapshot.computeIfAbsent(serviceId(instance), id -> new ConcurrentHashMap<>());
+                if (isUp(instance)) {
+                    ServiceInstance serviceInstance = toServiceInstance(instance);
+                    instances.put(instance.instanceId(), serviceInstance);
+                    if (!previous.getOrDefault(serviceId(instance), Map.of()).containsKey(instance.instanceId())) {
+                        cameUp.add(serviceInstance);
+                    }
+                }
+            }
+            services = snapshot;
+            live = true;
+        } else {
+            for (RegistryInstance instance : event.instances()) {
+                Map<String, ServiceInstance> instances =
+                        services.computeIfAbsent(serviceId(instance), id -> new ConcurrentHashMap<>());
+                if (event.type() == RegistryEvent.Type.UPSERT && isUp(instance)) {
+                    ServiceInstance serviceInstance = toServiceInstance(instance);
+                    if (instances.put(instance.instanceId(), serviceInstance) == null) {
+                        cameUp.add(serviceInstance);
+                    }
+                } else {
+                    instances.remove(instance.instanceId());
+                }
+            }
+        }
+        for (ServiceInstance instance : cameUp) {
+            upListeners.forEach(listener -> listener.accept(instance));
+        }
+        lag.record(Math.max(0, System.currentTimeMillis() - event.timestamp()), TimeUnit.MILLISECONDS);
+        meterRegistry.counter("gateway.registry-feed.events", "type", event.type().name()).increment();
+    }
+
+    public void disconnected() {
+        live = false;
+        services = new ConcurrentHashMap<>();
+    }
+
+    public boolean isLive() {
+        return live;
+    }
+
+    /**
+     * @return the UP instances of the service, possibly none, or empty when the feed has
+     *         never seen the service
+     */
+    public Optional<List<ServiceInstance>> getInstances(String serviceId) {
+        Map<String, ServiceInstance> instances = services.get(serviceId.toLowerCase());
+        return instances != null ? Optional.of(new ArrayList<>(instances.values())) : Optional.empty();
+    }
+
+    private boolean isUp(RegistryInstance instance) {
+        return "UP".equals(instance.status()) && instance.host() != null;
+    }
+
+    private String serviceId(RegistryInstance instance) {
+        return instance.app().toLowerCase();
+    }
+
+    private ServiceInstance toServiceInstance(RegistryInstance instance) {
+        return new DefaultServiceInstance(instance.instanceId(), serviceId(instance), instance.host(),
+                instance.port(), instance.secure(), instance.metadata() != null ? instance.metadata() : Map.of());
+    }
+}
@@ -0,0 +1,18 @@
+package com.microservice.gateway.discovery;
+
+import java.util.List;
+
+/**
+ * A service-registry change feed event: a SNAPSHOT of every instance when the stream opens,
+ * then an UPSERT or CANCEL per change.
+ *
+ * @param timestamp registry wall-clock time the change was seen
+ */
+public record RegistryEvent(Type type, long timestamp, List<RegistryInstance> instances) {
+
+    public enum Type {
+        SNAPSHOT,
+        UPSERT,
+        CANCEL
+    }
+}
@@ -0,0 +1,84 @@
+package com.microservice.gateway.discovery;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Subscribes to the service-registry change feed and applies its events to
+ * {@link PushedInstanceRegistry}. A closed or failed stream marks the registry not live,
+ * so load balancing falls back to polled Eureka data, and reconnects with backoff; each
+ * new stream starts with a full snapshot.
+ */
+@Component
+public class RegistryFeedSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistryFeedSubscriber.class);
+
+    private final WebClient webClient;
+    private final PushedInstanceRegistry pushedInstanceRegistry;
+    private final boolean enabled;
+    private final String url;
+    private final Duration maxBackoff;
+    private Disposable subscription;
+
+    public RegistryFeedSubscriber(WebClient.Builder webClientBuilder, PushedInstanceRegistry pushedInstanceRegistry,
+                                  @Value("${gateway.registry-feed.enabled:true}") boolean enabled,
+                                  @Value("${gateway.registry-feed.url:http://localhost:8761/registry/changes}") String url,
+                                  @Value("${gateway.registry-feed.max-backoff:PT30S}") Duration maxBackoff) {
+        this.webClient = webClientBuilder.build();
+        this.pushedInstanceRegistry = pushedInstanceRegistry;
+        this.enabled = enabled;
+        this.url = url;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        subscription = webClient.get()
+                .uri(url)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<RegistryEvent>>() {
+                })
+                .doOnNext(event -> {
+                    if (event.data() != null) {
+                        pushedInstanceRegistry.apply(event.data());
+                    }
+                })
+                .then(Mono.<Void>error(() -> new IllegalStateException("Registry feed closed")))
+                .doOnError(e -> {
+                    if (pushedInstanceRegistry.isLive()) {
+                        log.warn("Registry feed disconnected, falling back to polling: {}", e.getMessage());
+                    }
+                    pushedInstanceRegistry.disconnected();
+                })
+                // A stream that delivered events starts the backoff over when it drops
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(maxBackoff)
+                        .transientErrors(true))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
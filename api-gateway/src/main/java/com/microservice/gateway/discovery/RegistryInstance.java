@@ -0,0 +1,10 @@
+package com.microservice.gateway.discovery;
+
+import java.util.Map;
+
+/**
+ * One service instance as published on the service-registry change feed.
+ */
+public record RegistryInstance(String app, String instanceId, String host, int port, boolean secure,
+                               String status, Map<String, String> metadata) {
+}
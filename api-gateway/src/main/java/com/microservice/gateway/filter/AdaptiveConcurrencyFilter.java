@@ -0,0 +1,111 @@
+package com.microservice.gateway.filter;
+
+import com.microservice.gateway.concurrency.AdaptiveConcurrencyLimiter;
+import com.microservice.gateway.concurrency.ConcurrencyLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounds concurrent upstream calls with a limit learned per upstream service by
+ * {@link AdaptiveConcurrencyLimiter}. Requests over the limit queue briefly and are then
+ * rejected with 503 and Retry-After. Paths matching excludePatterns, such as long-polls
+ * whose latency says nothing about upstream load, neither take a permit nor feed the limit.
+ */
+@Component
+public class AdaptiveConcurrencyFilter extends AbstractGatewayFilterFactory<AdaptiveConcurrencyFilter.Config> {
+
+    private final ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public AdaptiveConcurrencyFilter(ConcurrencyLimiterRegistry concurrencyLimiterRegistry,
+                                     MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.concurrencyLimiterRegistry = concurrencyLimiterRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> excludes = new ArrayList<>();
+        for (String pattern : config.getExcludePatterns()) {
+            excludes.add(PathPatternParser.defaultInstance.parse(pattern.trim()));
+        }
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (excludes.stream().anyMatch(p -> p.matches(exchange.getRequest().getPath().pathWithinApplication()))) {
+                return chain.filter(exchange);
+            }
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+            String upstream = route != null && route.getUri().getHost() != null ? route.getUri().getHost() : routeId;
+            AdaptiveConcurrencyLimiter limiter = concurrencyLimiterRegistry.get(upstream);
+
+            return limiter.acquire(config.getMaxQueueSize(), config.getMaxQueueTime()).flatMap(permit -> {
+                if (permit.isEmpty()) {
+                    meterRegistry.counter("gateway.concurrency.rejected", "route", routeId, "upstream", upstream)
+                            .increment();
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                    response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                    return response.setComplete();
+                }
+                return chain.filter(exchange).doFinally(signal -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (signal == SignalType.CANCEL) {
+                        permit.get().ignore();
+                    } else if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+                        permit.get().dropped();
+                    } else {
+                        permit.get().success();
+                    }
+                });
+            });
+        }, GatewayFilterOrder.CONCURRENCY_LIMIT);
+    }
+
+    public static class Config {
+        private int maxQueueSize = 50;
+        private Duration maxQueueTime = Duration.ofMillis(50);
+        private List<String> excludePatterns = new ArrayList<>();
+
+        public int getMaxQueueSize() {
+            return maxQueueSize;
+        }
+
+        public void setMaxQueueSize(int maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+        }
+
+        public Duration getMaxQueueTime() {
+            return maxQueueTime;
+        }
+
+        public void setMaxQueueTime(Duration maxQueueTime) {
+            this.maxQueueTime = maxQueueTime;
+        }
+
+        public List<String> getExcludePatterns() {
+            return excludePatterns;
+        }
+
+        public void setExcludePatterns(List<String> excludePatterns) {
+            this.excludePatterns = excludePatterns;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.microservice.gateway.filter;
+
+import com.microservice.gateway.cache.ResponseCacheStore;
+import com.microservice.gateway.resilience.CircuitBreaker;
+import com.microservice.gateway.resilience.CircuitBreakerRegistry;
+import com.microservice.gateway.security.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route circuit breaker and semaphore bulkhead.
+ *
+ * Calls rejected by an open breaker or a full bulkhead, and calls that fail before any
+ * response arrives, are answered from the response cache (stale entries included) when
+ * the route caches GET responses, and with 503 otherwise. Paths matching excludePatterns,
+ * such as long-polls that are slow by design, bypass the breaker and the bulkhead.
+ *
+ * The breaker is named after the route unless name is set, and is resolved once when the
+ * route is built. Routes sharing a name with different settings fail startup, and a later
+ * route refresh that would change a breaker's settings is rejected.
+ */
+@Component
+public class CircuitBreakerFilter extends AbstractGatewayFilterFactory<CircuitBreakerFilter.Config> {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final ResponseCacheStore responseCacheStore;
+    private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+
+    public CircuitBreakerFilter(CircuitBreakerRegistry circuitBreakerRegistry, ResponseCacheStore responseCacheStore,
+                                JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.responseCacheStore = responseCacheStore;
+        this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        CircuitBreaker.Settings settings = new CircuitBreaker.Settings(config.getFailureRateThreshold(),
+                config.getSlowCallRateThreshold(), config.getSlowCallDuration(), config.getSlidingWindowSize(),
+                config.getMinimumCalls(), config.getWaitDurationInOpenState(),
+                config.getPermittedCallsInHalfOpenState(), config.getMaxConcurrentCalls());
+        String name = config.getName() != null ? config.getName() : config.getRouteId();
+        if (name == null) {
+            throw new IllegalArgumentException("CircuitBreakerFilter needs a name outside of a route definition");
+        }
+        CircuitBreaker breaker = circuitBreakerRegistry.register(name, settings);
+        List<PathPattern> excludes = new ArrayList<>();
+        for (String pattern : config.getExcludePatterns()) {
+            excludes.add(PathPatternParser.defaultInstance.parse(pattern.trim()));
+        }
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (excludes.stream().anyMatch(p -> p.matches(exchange.getRequest().getPath().pathWithinApplication()))) {
+                return chain.filter(exchange);
+            }
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+
+            CircuitBreaker.Rejection rejection = breaker.tryAcquire();
+            if (rejection != null) {
+                meterRegistry.counter("gateway.circuitbreaker.rejected", "name", name,
+                        "reason", rejection.name().toLowerCase()).increment();
+                return fallback(exchange, routeId, name, config, breaker);
+            }
+
+            long start = System.nanoTime();
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        long duration = System.nanoTime() - start;
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (signal == SignalType.CANCEL) {
+                            breaker.onIgnored();
+                        } else if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+                            breaker.onFailure(duration);
+                        } else {
+                            breaker.onSuccess(duration);
+                        }
+                    })
+                    .onErrorResume(e -> !exchange.getResponse().isCommitted(),
+                            e -> fallback(exchange, routeId, name, config, breaker));
+        }, GatewayFilterOrder.CIRCUIT_BREAKER);
+    }
+
+    /**
+     * Builds the routes before the gateway reports ready. The caching route locator only logs
+     * errors from its initial build, so without this a breaker configuration conflict would
+     * leave the gateway running with no routes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyRoutes(ApplicationReadyEvent event) {
+        event.getApplicationContext().getBean(RouteLocator.class).getRoutes().then().block();
+    }
+
+    /**
+     * Serves the cached response for a GET if there is one, otherwise 503 with Retry-After
+     * when the breaker is open.
+     */
+    private Mono<Void> fallback(ServerWebExchange exchange, String routeId, String name, Config config,
+                                CircuitBreaker breaker) {
+        if (config.isFallbackFromCache() && exchange.getRequest().getMethod() == HttpMethod.GET) {
+            String scope = jwtUtil.resolvePermissionScope(exchange);
+            ResponseCacheStore.Hit hit = scope != null
+                    ? responseCacheStore.lookupStale(ResponseCacheFilter.cacheKey(exchange, routeId, scope))
+                    : null;
+            if (hit != null) {
+                meterRegistry.counter("gateway.circuitbreaker.fallback", "name", name, "result", "cache").increment();
+                return ResponseCacheFilter.writeCached(exchange, hit, "STALE");
+            }
+        }
+        meterRegistry.counter("gateway.circuitbreaker.fallback", "name", name, "result", "unavailable").increment();
+        ServerHttpResponse response = exchange.getResponse();
+        long retryAfterNanos = breaker.remainingOpenNanos();
+        if (retryAfterNanos > 0) {
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L))));
+        }
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        return response.setComplete();
+    }
+
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private String name;
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 100;
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        private int slidingWindowSize = 50;
+        private int minimumCalls = 20;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpenState = 5;
+        private int maxConcurrentCalls;
+        private boolean fallbackFromCache = true;
+        private List<String> excludePatterns = new ArrayList<>();
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public float getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Duration getSlowCallDuration() {
+            return slowCallDuration;
+        }
+
+        public void setSlowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Duration getWaitDurationInOpenState() {
+            return waitDurationInOpenState;
+        }
+
+        public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+            this.waitDurationInOpenState = waitDurationInOpenState;
+        }
+
+        public int getPermittedCallsInHalfOpenState() {
+            return permittedCallsInHalfOpenState;
+        }
+
+        public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        }
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public boolean isFallbackFromCache() {
+            return fallbackFromCache;
+        }
+
+        public void setFallbackFromCache(boolean fallbackFromCache) {
+            this.fallbackFromCache = fallbackFromCache;
+        }
+
+        public List<String> getExcludePatterns() {
+            return excludePatterns;
+        }
+
+        public void setExcludePatterns(List<String> excludePatterns) {
+            this.excludePatterns = excludePatterns;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.microservice.gateway.filter;
+
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+
+/**
+ * Explicit orders for route and global filters that must run in a fixed sequence.
+ *
+ * Filters that decorate the response have to run before NettyWriteResponseFilter,
+ * which is ordered ahead of un-ordered route filters, so every filter here sits below
+ * {@link NettyWriteResponseFilter#WRITE_RESPONSE_FILTER_ORDER}. Filters that send the
+ * upstream call themselves sit after the un-ordered route filters and before routing.
+ */
+public final class GatewayFilterOrder {
+
+    public static final int REQUEST_TIMING = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 100;
+    public static final int LOAD_SHEDDING = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 50;
+    public static final int AUTH_POLICY = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 45;
+    public static final int RATE_LIMIT = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 40;
+    public static final int RESPONSE_CACHE = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 30;
+    public static final int RESPONSE_COMPRESSION = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 25;
+    public static final int REQUEST_COALESCING = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 20;
+    public static final int CONCURRENCY_LIMIT = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 10;
+    public static final int CIRCUIT_BREAKER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 5;
+    public static final int HEDGING = 1000;
+
+    private GatewayFilterOrder() {
+    }
+}
@@ -0,0 +1,335 @@
+package com.microservice.gateway.filter;
+
+import com.microservice.gateway.hedging.HedgeBudget;
+import com.microservice.gateway.hedging.LatencyPercentile;
+import com.microservice.gateway.loadbalancer.InstanceStatsRegistry;
+import com.microservice.gateway.timing.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hedges GET requests on lb:// routes: if the first attempt has not answered within the
+ * route's recent latency percentile, a second attempt goes to a different instance and the
+ * first response wins; the other attempt is cancelled.
+ *
+ * Hedged requests are sent by this filter rather than by the routing filter, so it must be
+ * the last filter before routing. Hedges are capped by {@link HedgeBudget} and response
+ * bodies are buffered, so it suits small idempotent reads such as GET /products/{id};
+ * long-polls and streams should be excluded.
+ *
+ * Each attempt is bounded by the route's response-timeout metadata, or the global
+ * spring.cloud.gateway.httpclient.response-timeout, as the routing filter would be. If
+ * neither attempt produces a response, the primary's error is returned: 504 for a
+ * timeout, 502 otherwise.
+ */
+@Component
+public class HedgingFilter extends AbstractGatewayFilterFactory<HedgingFilter.Config> {
+
+    private final HttpClient httpClient;
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+    private final InstanceStatsRegistry instanceStatsRegistry;
+    private final ObjectProvider<HttpHeadersFilter> headersFilters;
+    private final HttpClientProperties httpClientProperties;
+    private final MeterRegistry meterRegistry;
+
+    public HedgingFilter(HttpClient httpClient, LoadBalancerClientFactory loadBalancerClientFactory,
+                         InstanceStatsRegistry instanceStatsRegistry, ObjectProvider<HttpHeadersFilter> headersFilters,
+                         HttpClientProperties httpClientProperties, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.httpClient = httpClient;
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+        this.instanceStatsRegistry = instanceStatsRegistry;
+        this.headersFilters = headersFilters;
+        this.httpClientProperties = httpClientProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private record Attempt(ServiceInstance instance, HttpStatusCode status, HttpHeaders headers, byte[] body,
+                           boolean hedge, RequestTimings timings) {
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        LatencyPercentile latency = new LatencyPercentile(1024, config.getPercentile(), config.getMaxDelay().toNanos());
+        HedgeBudget budget = new HedgeBudget(config.getMaxHedgePercent(), 10);
+        List<PathPattern> excludes = new ArrayList<>();
+        for (String pattern : config.getExcludePatterns()) {
+            excludes.add(PathPatternParser.defaultInstance.parse(pattern.trim()));
+        }
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            if (route == null || !"lb".equals(route.getUri().getScheme())
+                    || exchange.getRequest().getMethod() != HttpMethod.GET
+                    || excludes.stream().anyMatch(p -> p.matches(exchange.getRequest().getPath().pathWithinApplication()))) {
+                return chain.filter(exchange);
+            }
+            String routeId = route.getId();
+            String serviceId = route.getUri().getHost();
+            budget.deposit();
+
+            long delayNanos = Math.max(config.getMinDelay().toNanos(),
+                    Math.min(config.getMaxDelay().toNanos(), latency.getNanos()));
+            long start = System.nanoTime();
+            HttpHeaders requestHeaders = requestHeaders(exchange);
+            Duration responseTimeout = responseTimeout(route);
+            RequestTimings timings = exchange.getAttribute(RequestTimings.ATTRIBUTE);
+            if (timings != null) {
+                timings.markRouting();
+            }
+
+            Mono<Attempt> response = choose(serviceId, exchange).flatMap(primary -> {
+                AtomicReference<Throwable> primaryError = new AtomicReference<>();
+                Mono<Attempt> first = attempt(serviceId, primary, exchange, requestHeaders, responseTimeout, false)
+                        .doOnError(primaryError::set);
+                Mono<Attempt> hedge = Mono.delay(Duration.ofNanos(delayNanos))
+                        .then(Mono.defer(() -> {
+                            if (!budget.tryWithdraw()) {
+                                meterRegistry.counter("gateway.hedging.suppressed", "route", routeId).increment();
+                                return Mono.empty();
+                            }
+                            return chooseOther(serviceId, primary)
+                                    .doOnNext(other -> meterRegistry.counter("gateway.hedging.sent", "route", routeId)
+                                            .increment())
+                                    .flatMap(other -> attempt(serviceId, other, exchange, requestHeaders,
+                                            responseTimeout, true));
+                        }));
+                // Fails only once both attempts have failed or the hedge was never sent
+                return Mono.firstWithValue(first, hedge)
+                        .onErrorMap(NoSuchElementException.class,
+                                e -> primaryError.get() != null ? primaryError.get() : e);
+            });
+            return response
+                    .onErrorMap(e -> !(e instanceof ResponseStatusException), HedgingFilter::toStatusException)
+                    .flatMap(winner -> {
+                        latency.record(System.nanoTime() - start);
+                        if (timings != null) {
+                            timings.adopt(winner.timings(), winner.hedge());
+                        }
+                        meterRegistry.counter("gateway.hedging.requests", "route", routeId,
+                                "winner", winner.hedge() ? "hedge" : "primary").increment();
+                        return write(exchange, winner);
+                    });
+        }, GatewayFilterOrder.HEDGING);
+    }
+
+    /**
+     * Same precedence as the routing filter: a route's response-timeout metadata in ms,
+     * negative for none, otherwise the global httpclient setting.
+     */
+    private Duration responseTimeout(Route route) {
+        Object routeTimeout = route.getMetadata().get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR);
+        if (routeTimeout instanceof Number millis) {
+            return millis.longValue() >= 0 ? Duration.ofMillis(millis.longValue()) : null;
+        }
+        return httpClientProperties.getResponseTimeout();
+    }
+
+    private static ResponseStatusException toStatusException(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, e.getMessage(), e);
+        }
+        if (e instanceof IllegalStateException) {
+            return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY, e.getMessage(), e);
+    }
+
+    private Mono<ServiceInstance> choose(String serviceId, ServerWebExchange exchange) {
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = loadBalancerClientFactory.getInstance(serviceId);
+        if (loadBalancer == null) {
+            return Mono.error(new IllegalStateException("No load balancer for " + serviceId));
+        }
+        DefaultRequest<RequestDataContext> request = new DefaultRequest<>(
+                new RequestDataContext(new RequestData(exchange.getRequest(), exchange.getAttributes())));
+        return Mono.from(loadBalancer.choose(request))
+                .filter(Response::hasServer)
+                .map(Response::getServer)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("No instances available for " + serviceId)));
+    }
+
+    /**
+     * The best-scoring healthy instance other than primary, or empty if there is none.
+     */
+    private Mono<ServiceInstance> chooseOther(String serviceId, ServiceInstance primary) {
+        ServiceInstanceListSupplier supplier =
+                loadBalancerClientFactory.getInstance(serviceId, ServiceInstanceListSupplier.class);
+        if (supplier == null) {
+            return Mono.empty();
+        }
+        return supplier.get().next().flatMap(instances -> {
+            long now = System.nanoTime();
+            ServiceInstance best = null;
+            double bestScore = Double.MAX_VALUE;
+            for (ServiceInstance instance : instances) {
+                if (instance.getHost().equals(primary.getHost()) && instance.getPort() == primary.getPort()) {
+                    continue;
+                }
+                InstanceStatsRegistry.InstanceStats stats = instanceStatsRegistry.get(serviceId, instance);
+                double score = stats.score(now);
+                if (!stats.isEjected(now) && score < bestScore) {
+                    best = instance;
+                    bestScore = score;
+                }
+            }
+            return Mono.justOrEmpty(best);
+        });
+    }
+
+    private URI instanceUri(ServerWebExchange exchange, ServiceInstance instance) {
+        return UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                .scheme(instance.isSecure() ? "https" : "http")
+                .host(instance.getHost())
+                .port(instance.getPort())
+                .build(true)
+                .toUri();
+    }
+
+    private Mono<Attempt> attempt(String serviceId, ServiceInstance instance, ServerWebExchange exchange,
+                                  HttpHeaders requestHeaders, Duration responseTimeout, boolean hedge) {
+        URI uri = instanceUri(exchange, instance);
+        InstanceStatsRegistry.InstanceStats stats = instanceStatsRegistry.get(serviceId, instance);
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            // Each attempt has its own timings, so the client hooks of one don't overwrite the other's
+            RequestTimings timings = new RequestTimings();
+            timings.markRouting();
+            stats.start();
+            HttpClient client = responseTimeout != null ? httpClient.responseTimeout(responseTimeout) : httpClient;
+            Mono<Attempt> call = client
+                    .headers(headers -> requestHeaders.forEach((name, values) -> headers.set(name, values)))
+                    .get()
+                    .uri(uri)
+                    .responseSingle((response, body) -> body.asByteArray()
+                            .defaultIfEmpty(new byte[0])
+                            .map(bytes -> {
+                                HttpHeaders headers = new HttpHeaders();
+                                response.responseHeaders().forEach(e -> headers.add(e.getKey(), e.getValue()));
+                                return new Attempt(instance, HttpStatusCode.valueOf(response.status().code()),
+                                        headers, bytes, hedge, timings);
+                            }))
+                    .contextWrite(context -> context.put(RequestTimings.CONTEXT_KEY, timings));
+            if (responseTimeout != null) {
+                call = call.timeout(responseTimeout, Mono.error(() ->
+                        new TimeoutException("Response took longer than timeout: " + responseTimeout)));
+            }
+            return call
+                    .doOnNext(result -> {
+                        if (result.status().is5xxServerError()) {
+                            stats.failure(System.nanoTime() - start);
+                        } else {
+                            stats.success(System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(e -> stats.failure(System.nanoTime() - start))
+                    .doOnCancel(stats::cancel);
+        });
+    }
+
+    private HttpHeaders requestHeaders(ServerWebExchange exchange) {
+        List<HttpHeadersFilter> filters = headersFilters.orderedStream().toList();
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(HttpHeadersFilter.filterRequest(filters, exchange));
+        headers.remove(HttpHeaders.HOST);
+        return headers;
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Attempt winner) {
+        List<HttpHeadersFilter> filters = headersFilters.orderedStream().toList();
+        HttpHeaders filtered = HttpHeadersFilter.filter(filters, winner.headers(), exchange, HttpHeadersFilter.Type.RESPONSE);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+                instanceUri(exchange, winner.instance()));
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().putAll(filtered);
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        response.getHeaders().setContentLength(winner.body().length);
+        response.setStatusCode(winner.status());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(winner.body())));
+    }
+
+    public static class Config {
+        private double percentile = 95;
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private double maxHedgePercent = 10;
+        private List<String> excludePatterns = new ArrayList<>();
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+
+        public double getMaxHedgePercent() {
+            return maxHedgePercent;
+        }
+
+        public void setMaxHedgePercent(double maxHedgePercent) {
+            this.maxHedgePercent = maxHedgePercent;
+        }
+
+        public List<String> getExcludePatterns() {
+            return excludePatterns;
+        }
+
+        public void setExcludePatterns(List<String> excludePatterns) {
+            this.excludePatterns = excludePatterns;
+        }
+    }
+}
@@ -1,68 +0,0 @@
-package com.microservice.gateway.filter;
-
-import org.springframework.cloud.gateway.filter.GatewayFilter;
-import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.http.server.reactive.ServerHttpResponse;
-import org.springframework.stereotype.Component;
-import org.springframework.web.server.ServerWebExchange;
-import reactor.core.publisher.Mono;
-
-/**
- * Simple JWT Authentication Filter for API Gateway
- * Only checks if JWT is present, actual validation is done by each service
- */
-@Component
-public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
-
-    public JwtAuthenticationFilter() {
-        super(Config.class);
-    }
-
-    @Override
-    public GatewayFilter apply(Config config) {
-        return (exchange, chain) -> {
-            ServerHttpRequest request = exchange.getRequest();
-
-            // Skip authentication for public endpoints
-            if (isPublicEndpoint(request)) {
-                return chain.filter(exchange);
-            }
-
-            // Check if Authorization header is present
-            if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
-                return onError(exchange, "Missing authorization header", HttpStatus.UNAUTHORIZED);
-            }
-
-            String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                return onError(exchange, "Invalid authorization header format", HttpStatus.UNAUTHORIZED);
-            }
-
-            // Just pass through - each service will validate JWT
-            return chain.filter(exchange);
-        };
-    }
-
-    private boolean isPublicEndpoint(ServerHttpRequest request) {
-        String path = request.getURI().getPath();
-        return path.equals("/register") || 
-               path.equals("/login") ||
-               path.startsWith("/init/") ||
-               path.contains("/eureka") ||
-               path.contains("/actuator") || 
-               path.contains("/public");
-    }
-
-    private Mono<Void> onError(ServerWebExchange exchange, String error, HttpStatus status) {
-        ServerHttpResponse response = exchange.getResponse();
-        response.setStatusCode(status);
-        return response.setComplete();
-    }
-
-    public static class Config {
-        // Configuration properties if needed
-    }
-}
@@ -0,0 +1,172 @@
+package com.microservice.gateway.filter;
+
+import com.microservice.gateway.ratelimit.TokenBucketRegistry;
+import com.microservice.gateway.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting per route, per client IP and per user (JWT subject).
+ * Each scope is enabled by giving it a positive replenish rate; a request must
+ * obtain a token from every enabled scope. Scopes are checked from the narrowest (user)
+ * to the widest (route) and checking stops at the first rejection, so one client's
+ * rejected flood never consumes the route-wide budget of everyone else.
+ */
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final TokenBucketRegistry tokenBucketRegistry;
+    private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(TokenBucketRegistry tokenBucketRegistry, JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.tokenBucketRegistry = tokenBucketRegistry;
+        this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+
+            TokenBucketRegistry.Result tightest = null;
+            String rejectedScope = null;
+
+            if (config.getUserReplenishRate() > 0) {
+                Claims claims = jwtUtil.resolveClaims(exchange);
+                String userId = claims != null ? claims.getSubject() : null;
+                if (userId != null) {
+                    TokenBucketRegistry.Result result = tokenBucketRegistry.tryConsume(
+                            "user:" + routeId + ":" + userId, config.getUserReplenishRate(), config.getUserBurstCapacity());
+                    tightest = tighter(tightest, result);
+                    if (!result.allowed()) {
+                        rejectedScope = "user";
+                    }
+                }
+            }
+            if (rejectedScope == null && config.getIpReplenishRate() > 0) {
+                TokenBucketRegistry.Result result = tokenBucketRegistry.tryConsume(
+                        "ip:" + routeId + ":" + clientIp(request), config.getIpReplenishRate(), config.getIpBurstCapacity());
+                tightest = tighter(tightest, result);
+                if (!result.allowed()) {
+                    rejectedScope = "ip";
+                }
+            }
+            if (rejectedScope == null && config.getRouteReplenishRate() > 0) {
+                TokenBucketRegistry.Result result = tokenBucketRegistry.tryConsume(
+                        "route:" + routeId, config.getRouteReplenishRate(), config.getRouteBurstCapacity());
+                tightest = tighter(tightest, result);
+                if (!result.allowed()) {
+                    rejectedScope = "route";
+                }
+            }
+
+            ServerHttpResponse response = exchange.getResponse();
+            if (tightest != null) {
+                response.getHeaders().set(LIMIT_HEADER, String.valueOf(tightest.limit()));
+                response.getHeaders().set(REMAINING_HEADER, String.valueOf(tightest.remaining()));
+            }
+            if (rejectedScope != null) {
+                meterRegistry.counter("gateway.ratelimit.rejected", "route", routeId, "scope", rejectedScope)
+                        .increment();
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(tightest.retryAfterNanos() + 999_999_999L));
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                return response.setComplete();
+            }
+            return chain.filter(exchange);
+        }, GatewayFilterOrder.RATE_LIMIT);
+    }
+
+    private TokenBucketRegistry.Result tighter(TokenBucketRegistry.Result current, TokenBucketRegistry.Result candidate) {
+        if (current == null || !candidate.allowed() || candidate.remaining() < current.remaining()) {
+            return candidate;
+        }
+        return current;
+    }
+
+    private String clientIp(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress().getHostAddress();
+    }
+
+    public static class Config {
+        private double routeReplenishRate;
+        private long routeBurstCapacity;
+        private double ipReplenishRate;
+        private long ipBurstCapacity;
+        private double userReplenishRate;
+        private long userBurstCapacity;
+
+        public double getRouteReplenishRate() {
+            return routeReplenishRate;
+        }
+
+        public void setRouteReplenishRate(double routeReplenishRate) {
+            this.routeReplenishRate = routeReplenishRate;
+        }
+
+        public long getRouteBurstCapacity() {
+            return routeBurstCapacity;
+        }
+
+        public void setRouteBurstCapacity(long routeBurstCapacity) {
+            this.routeBurstCapacity = routeBurstCapacity;
+        }
+
+        public double getIpReplenishRate() {
+            return ipReplenishRate;
+        }
+
+        public void setIpReplenishRate(double ipReplenishRate) {
+            this.ipReplenishRate = ipReplenishRate;
+        }
+
+        public long getIpBurstCapacity() {
+            return ipBurstCapacity;
+        }
+
+        public void setIpBurstCapacity(long ipBurstCapacity) {
+            this.ipBurstCapacity = ipBurstCapacity;
+        }
+
+        public double getUserReplenishRate() {
+            return userReplenishRate;
+        }
+
+        public void setUserReplenishRate(double userReplenishRate) {
+            this.userReplenishRate = userReplenishRate;
+        }
+
+        public long getUserBurstCapacity() {
+            return userBurstCapacity;
+        }
+
+        public void setUserBurstCapacity(long userBurstCapacity) {
+            this.userBurstCapacity = userBurstCapacity;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.microservice.gateway.filter;
+
+import com.microservice.gateway.security.JwtUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Coalesces identical in-flight GET requests into a single upstream call.
+ *
+ * The first request for a key becomes the leader and is forwarded as usual while its
+ * response body is copied. Identical requests arriving before it completes wait for that
+ * copy and receive the same status, headers and body. That includes 5xx responses, so a
+ * failing upstream sees one call per key instead of one per waiting client. Followers
+ * fall back to their own upstream call only if the leader ends without a response,
+ * exceeds maxBodyBytes or takes longer than waitTimeout. Paths matching excludePatterns,
+ * typically per-user or streaming endpoints, are never coalesced.
+ */
+@Component
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+
+    private static final Set<String> UNSHARED_HEADERS = Set.of(
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.SET_COOKIE.toLowerCase(),
+            RateLimitFilter.LIMIT_HEADER.toLowerCase(), RateLimitFilter.REMAINING_HEADER.toLowerCase(),
+            ResponseCacheFilter.CACHE_HEADER.toLowerCase());
+
+    private final Map<CoalescingKey, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescingFilter(JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gateway.coalescing.in-flight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    private record CoalescingKey(String routeId, String path, String query, String accept, String scope) {
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    private static final class InFlight {
+        private final Sinks.One<SharedResponse> response = Sinks.one();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> excludes = new ArrayList<>();
+        for (String pattern : config.getExcludePatterns()) {
+            excludes.add(PathPatternParser.defaultInstance.parse(pattern.trim()));
+        }
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || isExcluded(excludes, request)) {
+                return chain.filter(exchange);
+            }
+            String scope = jwtUtil.resolvePermissionScope(exchange);
+            if (scope == null) {
+                return chain.filter(exchange);
+            }
+
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+            CoalescingKey key = new CoalescingKey(routeId, request.getPath().value(), request.getURI().getRawQuery(),
+                    request.getHeaders().getFirst(HttpHeaders.ACCEPT), scope);
+
+            InFlight created = new InFlight();
+            InFlight leader = inFlight.putIfAbsent(key, created);
+            if (leader == null) {
+                count(routeId, "leader");
+                ServerHttpResponse sharing = new SharingResponse(exchange.getResponse(), key, created, config);
+                return chain.filter(exchange.mutate().response(sharing).build())
+                        .doFinally(signal -> complete(key, created, null));
+            }
+
+            count(routeId, "follower");
+            return leader.response.asMono()
+                    .timeout(config.getWaitTimeout())
+                    .onErrorResume(TimeoutException.class, e -> {
+                        count(routeId, "timeout");
+                        return Mono.empty();
+                    })
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> {
+                        if (shared.isPresent()) {
+                            return writeShared(exchange, shared.get());
+                        }
+                        count(routeId, "fallback");
+                        return chain.filter(exchange);
+                    });
+        }, GatewayFilterOrder.REQUEST_COALESCING);
+    }
+
+    private boolean isExcluded(List<PathPattern> excludes, ServerHttpRequest request) {
+        for (PathPattern pattern : excludes) {
+            if (pattern.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the in-flight entry before publishing, so requests arriving afterwards start
+     * a fresh upstream call instead of receiving a completed response. A null response
+     * releases followers to make their own calls.
+     */
+    private void complete(CoalescingKey key, InFlight entry, SharedResponse response) {
+        inFlight.remove(key, entry);
+        if (response != null) {
+            entry.response.tryEmitValue(response);
+        } else {
+            entry.response.tryEmitEmpty();
+        }
+    }
+
+    private Mono<Void> writeShared(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        shared.headers().forEach((name, values) -> response.getHeaders().put(name, values));
+        response.getHeaders().setContentLength(shared.body().length);
+        response.setStatusCode(shared.status());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    private void count(String routeId, String role) {
+        meterRegistry.counter("gateway.coalescing.requests", "route", routeId, "role", role).increment();
+    }
+
+    /**
+     * Copies the leader's body as it streams to the leader's client and publishes it to
+     * followers once complete.
+     */
+    private class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final CoalescingKey key;
+        private final InFlight entry;
+        private final Config config;
+
+        SharingResponse(ServerHttpResponse delegate, CoalescingKey key, InFlight entry, Config config) {
+            super(delegate);
+            this.key = key;
+            this.entry = entry;
+            this.config = config;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getDelegate().getStatusCode();
+            long contentLength = getHeaders().getContentLength();
+            if (status == null || contentLength > config.getMaxBodyBytes()) {
+                complete(key, entry, null);
+                return super.writeWith(body);
+            }
+
+            HttpHeaders sharedHeaders = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                if (!UNSHARED_HEADERS.contains(name.toLowerCase())) {
+                    sharedHeaders.put(name, values);
+                }
+            });
+            BodyCopy copy = new BodyCopy(contentLength > 0 ? (int) contentLength : 1024, config.getMaxBodyBytes());
+
+            Flux<DataBuffer> teed = Flux.<DataBuffer>from(body)
+                    .doOnNext(chunk -> {
+                        if (!copy.append(chunk)) {
+                            complete(key, entry, null);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        byte[] bytes = copy.toByteArray();
+                        if (bytes != null) {
+                            complete(key, entry, new SharedResponse(status,
+                                    HttpHeaders.readOnlyHttpHeaders(sharedHeaders), bytes));
+                        }
+                    });
+            return super.writeWith(teed);
+        }
+    }
+
+    private static final class BodyCopy {
+
+        private final int maxBytes;
+        private ByteArrayOutputStream out;
+
+        BodyCopy(int initialCapacity, int maxBytes) {
+            this.maxBytes = maxBytes;
+            this.out = new ByteArrayOutputStream(Math.min(initialCapacity, maxBytes));
+        }
+
+        /**
+         * @return false once the body has outgrown maxBytes and the copy was dropped
+         */
+        synchronized boolean append(DataBuffer chunk) {
+            if (out == null) {
+                return false;
+            }
+            if (out.size() + chunk.readableByteCount() > maxBytes) {
+                out = null;
+                return false;
+            }
+            try (DataBuffer.ByteBufferIterator buffers = chunk.readableByteBuffers()) {
+                while (buffers.hasNext()) {
+                    ByteBuffer source = buffers.next();
+                    byte[] bytes = new byte[source.remaining()];
+                    source.get(bytes);
+                    out.write(bytes, 0, bytes.length);
+                }
+            }
+            return true;
+        }
+
+        synchronized byte[] toByteArray() {
+            return out != null ? out.toByteArray() : null;
+        }
+    }
+
+    public static class Config {
+        private Duration waitTimeout = Duration.ofSeconds(5);
+        private int maxBodyBytes = 1024 * 1024;
+        private List<String> excludePatterns = new ArrayList<>();
+
+        public Duration getWaitTimeout() {
+            return waitTimeout;
+        }
+
+        public void setWaitTimeout(Duration waitTimeout) {
+            this.waitTimeout = waitTimeout;
+        }
+
+        public int getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+
+        public void setMaxBodyBytes(int maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        public List<String> getExcludePatterns() {
+            return excludePatterns;
+        }
+
+        public void setExcludePatterns(List<String> excludePatterns) {
+            this.excludePatterns = excludePatterns;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.microservice.gateway.filter;
+
+import com.microservice.gateway.cache.ResponseCacheStore;
+import com.microservice.gateway.security.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Caches whole upstream GET responses per path, query and caller permission scope.
+ *
+ * Upstream Cache-Control is honoured: no-store, no-cache and private responses are never
+ * stored and s-maxage/max-age override the configured TTL. Stored ETags answer matching
+ * If-None-Match requests with 304. Requests without a valid token bypass the cache.
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    private static final NettyDataBufferFactory BUFFER_FACTORY = new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.SET_COOKIE.toLowerCase(),
+            RateLimitFilter.LIMIT_HEADER.toLowerCase(), RateLimitFilter.REMAINING_HEADER.toLowerCase(),
+            CACHE_HEADER.toLowerCase());
+
+    private final ResponseCacheStore responseCacheStore;
+    private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheFilter(ResponseCacheStore responseCacheStore, JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.responseCacheStore = responseCacheStore;
+        this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> excludes = new ArrayList<>();
+        for (String pattern : config.getExcludePatterns()) {
+            excludes.add(PathPatternParser.defaultInstance.parse(pattern.trim()));
+        }
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+
+            if (request.getMethod() != HttpMethod.GET) {
+                if (!config.isInvalidateOnWrite() || request.getMethod() == HttpMethod.HEAD
+                        || request.getMethod() == HttpMethod.OPTIONS) {
+                    return chain.filter(exchange);
+                }
+                return chain.filter(exchange).doOnSuccess(done -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is2xxSuccessful()) {
+                        responseCacheStore.purgeRoute(routeId);
+                    }
+                });
+            }
+
+            String scope = jwtUtil.resolvePermissionScope(exchange);
+            if (scope == null || isExcluded(excludes, request)) {
+                count(routeId, "bypass");
+                return chain.filter(exchange);
+            }
+
+            ResponseCacheStore.CacheKey key = cacheKey(exchange, routeId, scope);
+
+            if (!requestForbidsCache(request)) {
+                ResponseCacheStore.Hit hit = responseCacheStore.lookup(key);
+                if (hit != null) {
+                    count(routeId, "hit");
+                    return writeCached(exchange, hit, "HIT");
+                }
+            }
+
+            count(routeId, "miss");
+            ServerHttpResponse capturing = new CapturingResponse(exchange.getResponse(), key, config);
+            return chain.filter(exchange.mutate().response(capturing).build());
+        }, GatewayFilterOrder.RESPONSE_CACHE);
+    }
+
+    private boolean isExcluded(List<PathPattern> excludes, ServerHttpRequest request) {
+        for (PathPattern pattern : excludes) {
+            if (pattern.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean requestForbidsCache(ServerHttpRequest request) {
+        String cacheControl = request.getHeaders().getCacheControl();
+        return cacheControl != null
+                && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+    }
+
+    /**
+     * Keys on the negotiated content encoding as well, so compressed variants written by
+     * {@link ResponseCompressionFilter} are stored once and served without recompressing.
+     */
+    static ResponseCacheStore.CacheKey cacheKey(ServerWebExchange exchange, String routeId, String scope) {
+        ServerHttpRequest request = exchange.getRequest();
+        return new ResponseCacheStore.CacheKey(routeId, request.getPath().value(), request.getURI().getRawQuery(), scope,
+                ResponseCompressionFilter.negotiateEncoding(request));
+    }
+
+    /**
+     * Writes a cached response, or 304 if it matches If-None-Match, and releases the hit's body.
+     * @param cacheStatus value for the X-Cache header
+     */
+    static Mono<Void> writeCached(ServerWebExchange exchange, ResponseCacheStore.Hit hit, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        ResponseCacheStore.CachedResponse entry = hit.entry();
+        response.getHeaders().set(CACHE_HEADER, cacheStatus);
+        response.getHeaders().set(HttpHeaders.AGE, String.valueOf(entry.ageSeconds(System.nanoTime())));
+
+        String etag = entry.etag();
+        if (etag != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+            hit.body().release();
+            response.getHeaders().setETag(etag);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        entry.headers().forEach((name, values) -> response.getHeaders().put(name, values));
+        response.getHeaders().setContentLength(hit.body().readableBytes());
+        response.setStatusCode(entry.status());
+        return response.writeWith(Mono.just(BUFFER_FACTORY.wrap(hit.body())));
+    }
+
+    private void count(String routeId, String result) {
+        meterRegistry.counter("gateway.response-cache.requests", "route", routeId, "result", result).increment();
+    }
+
+    /**
+     * Returns the time the response may be cached for, or null if upstream forbids caching.
+     */
+    private Duration cacheableFor(ServerHttpResponse response, Config config) {
+        HttpHeaders headers = response.getHeaders();
+        HttpStatusCode status = response.getStatusCode();
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || headers.getVary().contains("*")) {
+            return null;
+        }
+        Duration ttl = config.getTtl();
+        long maxAge = -1;
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            for (String directive : cacheControl.toLowerCase().split(",")) {
+                directive = directive.trim();
+                if (directive.equals("no-store") || directive.equals("no-cache") || directive.equals("private")) {
+                    return null;
+                }
+                if (directive.startsWith("s-maxage=")) {
+                    maxAge = parseSeconds(directive.substring(9));
+                } else if (directive.startsWith("max-age=") && maxAge < 0) {
+                    maxAge = parseSeconds(directive.substring(8));
+                }
+            }
+        }
+        if (maxAge == 0) {
+            return null;
+        }
+        return maxAge > 0 ? Duration.ofSeconds(maxAge) : ttl;
+    }
+
+    private long parseSeconds(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Copies the upstream body into a pooled direct buffer as it streams to the client and
+     * stores it once complete. Bodies larger than maxEntryBytes are passed through uncached.
+     */
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final ResponseCacheStore.CacheKey key;
+        private final Config config;
+
+        CapturingResponse(ServerHttpResponse delegate, ResponseCacheStore.CacheKey key, Config config) {
+            super(delegate);
+            this.key = key;
+            this.config = config;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            getHeaders().set(CACHE_HEADER, "MISS");
+            Duration ttl = cacheableFor(getDelegate(), config);
+            long contentLength = getHeaders().getContentLength();
+            if (ttl == null || contentLength > config.getMaxEntryBytes()) {
+                return super.writeWith(body);
+            }
+
+            HttpHeaders cachedHeaders = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                if (!UNCACHED_HEADERS.contains(name.toLowerCase())) {
+                    cachedHeaders.put(name, values);
+                }
+            });
+            Capture capture = new Capture(responseCacheStore.allocateBody(
+                    contentLength > 0 ? (int) contentLength : 1024, config.getMaxEntryBytes()));
+
+            Flux<DataBuffer> teed = Flux.<DataBuffer>from(body)
+                    .doOnNext(capture::append)
+                    .doOnComplete(() -> {
+                        ByteBuf captured = capture.take();
+                        if (captured != null) {
+                            responseCacheStore.put(key, getDelegate().getStatusCode(), cachedHeaders, captured, ttl);
+                        }
+                    })
+                    .doOnError(e -> capture.discard())
+                    .doOnCancel(capture::discard);
+            return super.writeWith(teed);
+        }
+    }
+
+    private static final class Capture {
+
+        private ByteBuf buffer;
+
+        Capture(ByteBuf buffer) {
+            this.buffer = buffer;
+        }
+
+        synchronized void append(DataBuffer chunk) {
+            if (buffer == null) {
+                return;
+            }
+            if (chunk.readableByteCount() > buffer.maxWritableBytes()) {
+                discard();
+                return;
+            }
+            try (DataBuffer.ByteBufferIterator buffers = chunk.readableByteBuffers()) {
+                while (buffers.hasNext()) {
+                    ByteBuffer source = buffers.next();
+                    buffer.writeBytes(source);
+                }
+            }
+        }
+
+        synchronized ByteBuf take() {
+            ByteBuf taken = buffer;
+            buffer = null;
+            return taken;
+        }
+
+        synchronized void discard() {
+            if (buffer != null) {
+                buffer.release();
+                buffer = null;
+            }
+        }
+    }
+
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+        private int maxEntryBytes = 1024 * 1024;
+        private List<String> excludePatterns = new ArrayList<>();
+        private boolean invalidateOnWrite = true;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getMaxEntryBytes() {
+            return maxEntryBytes;
+        }
+
+        public void setMaxEntryBytes(int maxEntryBytes) {
+            this.maxEntryBytes = maxEntryBytes;
+        }
+
+        public List<String> getExcludePatterns() {
+            return excludePatterns;
+        }
+
+        public void setExcludePatterns(List<String> excludePatterns) {
+            this.excludePatterns = excludePatterns;
+        }
+
+        public boolean isInvalidateOnWrite() {
+            return invalidateOnWrite;
+        }
+
+        public void setInvalidateOnWrite(boolean invalidateOnWrite) {
+            this.invalidateOnWrite = invalidateOnWrite;
+        }
+    }
+}
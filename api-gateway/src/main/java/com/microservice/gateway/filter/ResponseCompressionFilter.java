@@ -0,0 +1,277 @@
+package com.microservice.gateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip-compresses upstream responses for clients that accept it.
+ *
+ * Only responses whose content type is in mimeTypes and whose Content-Length is unknown or
+ * at least minSize are compressed; responses the upstream already encoded are left alone.
+ * The filter sits inside the response cache, so the cache stores the compressed variant
+ * under its own key and serves it to later gzip clients without compressing again.
+ */
+@Component
+public class ResponseCompressionFilter extends AbstractGatewayFilterFactory<ResponseCompressionFilter.Config> {
+
+    public static final String GZIP = "gzip";
+    public static final String IDENTITY = "identity";
+
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCompressionFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The encoding this gateway would use for the request: gzip if Accept-Encoding allows it,
+     * otherwise identity.
+     */
+    public static String negotiateEncoding(ServerHttpRequest request) {
+        boolean gzip = false;
+        for (String value : request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String token : value.split(",")) {
+                String[] parts = token.trim().split(";");
+                String coding = parts[0].trim().toLowerCase();
+                boolean accepted = true;
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.startsWith("q=")) {
+                        accepted = parseQuality(param.substring(2)) > 0;
+                    }
+                }
+                if (coding.equals(GZIP) || coding.equals("x-gzip")) {
+                    if (!accepted) {
+                        return IDENTITY;
+                    }
+                    gzip = true;
+                } else if (coding.equals("*") && accepted) {
+                    gzip = true;
+                }
+            }
+        }
+        return gzip ? GZIP : IDENTITY;
+    }
+
+    private static double parseQuality(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<MediaType> mimeTypes = new ArrayList<>();
+        for (String mimeType : config.getMimeTypes()) {
+            mimeTypes.add(MediaType.parseMediaType(mimeType.trim()));
+        }
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() == HttpMethod.HEAD || !GZIP.equals(negotiateEncoding(request))) {
+                return chain.filter(exchange);
+            }
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+            ServerHttpResponse compressing = new CompressingResponse(exchange.getResponse(), routeId, mimeTypes, config);
+            return chain.filter(exchange.mutate().response(compressing).build());
+        }, GatewayFilterOrder.RESPONSE_COMPRESSION);
+    }
+
+    private class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final String routeId;
+        private final List<MediaType> mimeTypes;
+        private final Config config;
+
+        CompressingResponse(ServerHttpResponse delegate, String routeId, List<MediaType> mimeTypes, Config config) {
+            super(delegate);
+            this.routeId = routeId;
+            this.mimeTypes = mimeTypes;
+            this.config = config;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!compressible()) {
+                return super.writeWith(body);
+            }
+
+            HttpHeaders headers = getHeaders();
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            if (!headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            String etag = headers.getETag();
+            if (etag != null && !etag.startsWith("W/")) {
+                headers.setETag("W/" + etag);
+            }
+
+            GzipEncoder encoder = new GzipEncoder(config.getLevel());
+            Flux<DataBuffer> compressed = Flux.<DataBuffer>from(body)
+                    .map(chunk -> {
+                        try {
+                            return encoder.encode(chunk);
+                        } finally {
+                            DataBufferUtils.release(chunk);
+                        }
+                    })
+                    .concatWith(Mono.fromCallable(encoder::finish))
+                    .filter(bytes -> bytes.length > 0)
+                    .map(bytes -> bufferFactory().wrap(bytes))
+                    .doOnComplete(() -> record(encoder))
+                    .doFinally(signal -> encoder.close());
+            return super.writeWith(compressed);
+        }
+
+        private boolean compressible() {
+            HttpHeaders headers = getHeaders();
+            HttpStatusCode status = getStatusCode();
+            if (status == null || status.value() == 204 || status.value() == 304
+                    || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                return false;
+            }
+            long contentLength = headers.getContentLength();
+            if (contentLength >= 0 && contentLength < config.getMinSize()) {
+                return false;
+            }
+            MediaType contentType = headers.getContentType();
+            return contentType != null && mimeTypes.stream().anyMatch(type -> type.includes(contentType));
+        }
+
+        private void record(GzipEncoder encoder) {
+            meterRegistry.timer("gateway.compression.time", "route", routeId)
+                    .record(encoder.nanos, TimeUnit.NANOSECONDS);
+            if (encoder.bytesIn > 0) {
+                meterRegistry.summary("gateway.compression.ratio", "route", routeId)
+                        .record((double) encoder.bytesOut / encoder.bytesIn);
+            }
+            meterRegistry.counter("gateway.compression.bytes", "route", routeId, "direction", "in")
+                    .increment(encoder.bytesIn);
+            meterRegistry.counter("gateway.compression.bytes", "route", routeId, "direction", "out")
+                    .increment(encoder.bytesOut);
+        }
+    }
+
+    /**
+     * Streams chunks through one gzip deflater, returning whatever compressed output each
+     * chunk produced. Chunks of a response arrive serially, so no locking is needed.
+     */
+    private static final class GzipEncoder {
+
+        private final ByteArrayOutputStream sink = new ByteArrayOutputStream(8192);
+        private final GZIPOutputStream gzip;
+        private long bytesIn;
+        private long bytesOut;
+        private long nanos;
+
+        GzipEncoder(int level) {
+            try {
+                this.gzip = new GZIPOutputStream(sink, 8192) {
+                    {
+                        def.setLevel(level);
+                    }
+                };
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        byte[] encode(DataBuffer chunk) {
+            byte[] input = new byte[chunk.readableByteCount()];
+            chunk.read(input);
+            long start = System.nanoTime();
+            try {
+                gzip.write(input);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            nanos += System.nanoTime() - start;
+            bytesIn += input.length;
+            return drain();
+        }
+
+        byte[] finish() throws IOException {
+            long start = System.nanoTime();
+            gzip.finish();
+            nanos += System.nanoTime() - start;
+            return drain();
+        }
+
+        void close() {
+            try {
+                gzip.close();
+            } catch (IOException ignored) {
+                // the sink is in memory
+            }
+        }
+
+        private byte[] drain() {
+            byte[] output = sink.toByteArray();
+            sink.reset();
+            bytesOut += output.length;
+            return output;
+        }
+    }
+
+    public static class Config {
+        private int minSize = 1024;
+        private int level = 6;
+        private List<String> mimeTypes = new ArrayList<>(List.of(
+                "application/json", "application/*+json", "application/xml", "application/javascript",
+                "text/plain", "text/html", "text/css", "text/xml"));
+
+        public int getMinSize() {
+            return minSize;
+        }
+
+        public void setMinSize(int minSize) {
+            this.minSize = minSize;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            this.level = level;
+        }
+
+        public List<String> getMimeTypes() {
+            return mimeTypes;
+        }
+
+        public void setMimeTypes(List<String> mimeTypes) {
+            this.mimeTypes = mimeTypes;
+        }
+    }
+}
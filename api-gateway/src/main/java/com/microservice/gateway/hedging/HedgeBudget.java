@@ -0,0 +1,35 @@
+package com.microservice.gateway.hedging;
+
+/**
+ * Caps hedged attempts to a fraction of requests. Every request deposits maxHedgePercent/100
+ * of a token and every hedge spends a whole one, so during an incident where every request
+ * would hedge, hedges stay at that fraction of traffic. A small reserve allows short bursts.
+ *
+ * The balance is kept in millionths of a token so that, say, ten 10% deposits add up to
+ * exactly one token rather than 0.999... in floating point.
+ */
+public class HedgeBudget {
+
+    private static final long TOKEN = 1_000_000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private long balance;
+
+    public HedgeBudget(double maxHedgePercent, double maxBalance) {
+        this.depositPerRequest = Math.round(maxHedgePercent / 100 * TOKEN);
+        this.maxBalance = Math.round(maxBalance * TOKEN);
+    }
+
+    public synchronized void deposit() {
+        balance = Math.min(maxBalance, balance + depositPerRequest);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (balance < TOKEN) {
+            return false;
+        }
+        balance -= TOKEN;
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package com.microservice.gateway.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Tracks a latency percentile over the most recent samples. The percentile is recomputed
+ * every few samples rather than on every read, so reads are a volatile load.
+ */
+public class LatencyPercentile {
+
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final long[] samples;
+    private final double percentile;
+    private final long initialNanos;
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long valueNanos;
+
+    public LatencyPercentile(int windowSize, double percentile, long initialNanos) {
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+        this.initialNanos = initialNanos;
+        this.valueNanos = initialNanos;
+    }
+
+    public void record(long latencyNanos) {
+        long[] snapshot = null;
+        synchronized (this) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            if (++sinceRecompute >= RECOMPUTE_EVERY) {
+                sinceRecompute = 0;
+                snapshot = Arrays.copyOf(samples, count);
+            }
+        }
+        if (snapshot != null) {
+            Arrays.sort(snapshot);
+            int index = (int) Math.ceil(percentile / 100 * snapshot.length) - 1;
+            valueNanos = snapshot[Math.max(0, Math.min(snapshot.length - 1, index))];
+        }
+    }
+
+    /**
+     * The current percentile, or the initial value until enough samples have arrived.
+     */
+    public long getNanos() {
+        return count < RECOMPUTE_EVERY ? initialNanos : valueNanos;
+    }
+}
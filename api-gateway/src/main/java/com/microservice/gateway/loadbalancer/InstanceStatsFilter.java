@@ -0,0 +1,61 @@
+package com.microservice.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Feeds upstream outcomes back into {@link InstanceStatsRegistry}. Runs right after the
+ * load balancer has picked an instance and measures time until the upstream response
+ * headers arrive; errors and 5xx responses count as failures.
+ */
+@Component
+public class InstanceStatsFilter implements GlobalFilter, Ordered {
+
+    private final InstanceStatsRegistry instanceStatsRegistry;
+
+    public InstanceStatsFilter(InstanceStatsRegistry instanceStatsRegistry) {
+        this.instanceStatsRegistry = instanceStatsRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return chain.filter(exchange);
+        }
+        ServiceInstance instance = lbResponse.getServer();
+        InstanceStatsRegistry.InstanceStats stats = instanceStatsRegistry.find(instance);
+        if (stats == null) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        stats.start();
+        return chain.filter(exchange).doFinally(signal -> {
+            long latency = System.nanoTime() - start;
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            if (signal == SignalType.CANCEL) {
+                stats.cancel();
+            } else if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+                stats.failure(latency);
+            } else {
+                stats.success(latency);
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
@@ -0,0 +1,185 @@
+package com.microservice.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-instance latency and health statistics shared by every latency-aware load balancer.
+ *
+ * Latency is a peak-sensitive EWMA that decays with elapsed time rather than sample count,
+ * so an instance that turns slow is penalised immediately and recovers gradually.
+ * Instances are ejected for a while after consecutive failures, and newly seen instances
+ * ramp up over the slow-start window.
+ */
+@Component
+public class InstanceStatsRegistry {
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final double decayNanos;
+    private final long initialLatencyNanos;
+    private final int ejectionThreshold;
+    private final long ejectionNanos;
+    private final long slowStartNanos;
+    private final long forgetAfterNanos;
+
+    public InstanceStatsRegistry(MeterRegistry meterRegistry,
+                                 @Value("${gateway.load-balancer.decay:PT10S}") Duration decay,
+                                 @Value("${gateway.load-balancer.initial-latency:PT0.1S}") Duration initialLatency,
+                                 @Value("${gateway.load-balancer.ejection.consecutive-errors:5}") int ejectionThreshold,
+                                 @Value("${gateway.load-balancer.ejection.duration:PT30S}") Duration ejection,
+                                 @Value("${gateway.load-balancer.slow-start:PT30S}") Duration slowStart,
+                                 @Value("${gateway.load-balancer.forget-after:PT10M}") Duration forgetAfter) {
+        this.meterRegistry = meterRegistry;
+        this.decayNanos = decay.toNanos();
+        this.initialLatencyNanos = initialLatency.toNanos();
+        this.ejectionThreshold = ejectionThreshold;
+        this.ejectionNanos = ejection.toNanos();
+        this.slowStartNanos = slowStart.toNanos();
+        this.forgetAfterNanos = forgetAfter.toNanos();
+    }
+
+    public InstanceStats get(String serviceId, ServiceInstance instance) {
+        InstanceStats instanceStats = stats.computeIfAbsent(instanceName(instance),
+                k -> register(serviceId, instanceName(instance)));
+        instanceStats.lastSeenNanos = System.nanoTime();
+        return instanceStats;
+    }
+
+    /**
+     * Returns the stats for an instance already picked by a load balancer, or null if unknown.
+     */
+    public InstanceStats find(ServiceInstance instance) {
+        return stats.get(instanceName(instance));
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.load-balancer.prune-interval-ms:60000}")
+    public void pruneForgotten() {
+        long now = System.nanoTime();
+        List<String> forgotten = new ArrayList<>();
+        stats.forEach((key, instanceStats) -> {
+            if (now - instanceStats.lastSeenNanos > forgetAfterNanos && instanceStats.outstanding.get() == 0) {
+                forgotten.add(key);
+            }
+        });
+        for (String key : forgotten) {
+            InstanceStats removed = stats.remove(key);
+            if (removed != null) {
+                removed.meters.forEach(meterRegistry::remove);
+            }
+        }
+    }
+
+    private InstanceStats register(String serviceId, String instance) {
+        InstanceStats instanceStats = new InstanceStats(System.nanoTime());
+        Tags tags = Tags.of("service", serviceId, "instance", instance);
+        instanceStats.meters.add(Gauge.builder("gateway.lb.instance.latency-ewma", instanceStats,
+                        s -> s.latencyNanos() / 1_000_000d)
+                .tags(tags).baseUnit("milliseconds").register(meterRegistry));
+        instanceStats.meters.add(Gauge.builder("gateway.lb.instance.outstanding", instanceStats,
+                        s -> s.outstanding.get())
+                .tags(tags).register(meterRegistry));
+        instanceStats.meters.add(Gauge.builder("gateway.lb.instance.score", instanceStats,
+                        s -> s.score(System.nanoTime()))
+                .tags(tags).register(meterRegistry));
+        instanceStats.meters.add(Gauge.builder("gateway.lb.instance.ejected", instanceStats,
+                        s -> s.isEjected(System.nanoTime()) ? 1 : 0)
+                .tags(tags).register(meterRegistry));
+        return instanceStats;
+    }
+
+    /**
+     * Instances are keyed by address alone; discovery clients disagree on service id casing.
+     */
+    private String instanceName(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    public class InstanceStats {
+
+        private final long firstSeenNanos;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final List<Meter> meters = new ArrayList<>();
+        private volatile long lastSeenNanos;
+        private long ewmaNanos = initialLatencyNanos;
+        private long lastSampleNanos;
+        private int consecutiveErrors;
+        private int ejections;
+        private long ejectedUntilNanos;
+
+        InstanceStats(long now) {
+            this.firstSeenNanos = now;
+            this.lastSeenNanos = now;
+            this.lastSampleNanos = now;
+            this.ejectedUntilNanos = now;
+        }
+
+        public void start() {
+            outstanding.incrementAndGet();
+        }
+
+        /**
+         * Releases an outstanding request without a latency sample, e.g. when it was cancelled.
+         */
+        public void cancel() {
+            outstanding.decrementAndGet();
+        }
+
+        public synchronized void success(long latencyNanos) {
+            outstanding.decrementAndGet();
+            consecutiveErrors = 0;
+            ejections = 0;
+            sample(latencyNanos);
+        }
+
+        public synchronized void failure(long latencyNanos) {
+            outstanding.decrementAndGet();
+            sample(latencyNanos);
+            long now = System.nanoTime();
+            if (++consecutiveErrors >= ejectionThreshold && !isEjected(now)) {
+                // Back off longer each time the instance fails straight after returning
+                ejections = Math.min(ejections + 1, 6);
+                ejectedUntilNanos = now + ejectionNanos * (1L << (ejections - 1));
+                consecutiveErrors = 0;
+            }
+        }
+
+        public synchronized boolean isEjected(long now) {
+            return ejectedUntilNanos - now > 0;
+        }
+
+        /**
+         * Lower is better: decayed latency times queue depth, inflated while slow-starting.
+         */
+        public double score(long now) {
+            double ramp = slowStartNanos <= 0 ? 1 : Math.min(1, (double) (now - firstSeenNanos) / slowStartNanos);
+            return latencyNanos() * (outstanding.get() + 1) / Math.max(ramp, 0.1);
+        }
+
+        synchronized long latencyNanos() {
+            return ewmaNanos;
+        }
+
+        private void sample(long latencyNanos) {
+            long now = System.nanoTime();
+            double weight = Math.exp(-(now - lastSampleNanos) / decayNanos);
+            lastSampleNanos = now;
+            ewmaNanos = latencyNanos > ewmaNanos
+                    ? latencyNanos
+                    : (long) (ewmaNanos * weight + latencyNanos * (1 - weight));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.microservice.gateway.loadbalancer;
+
+import com.microservice.gateway.discovery.PushedInstanceRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-client LoadBalancer configuration, registered through @LoadBalancerClients.
+ * Deliberately not a @Configuration so component scanning does not load it into the
+ * main context.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory clientFactory,
+                                                                         InstanceStatsRegistry instanceStatsRegistry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, instanceStatsRegistry);
+    }
+
+    @Bean
+    public ServiceInstanceListSupplier pushedServiceInstanceListSupplier(ConfigurableApplicationContext context,
+                                                                         PushedInstanceRegistry pushedInstanceRegistry) {
+        ServiceInstanceListSupplier polling = ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .withCaching()
+                .build(context);
+        return new PushedServiceInstanceListSupplier(polling, pushedInstanceRegistry);
+    }
+}
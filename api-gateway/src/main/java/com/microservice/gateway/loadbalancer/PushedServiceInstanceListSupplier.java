@@ -0,0 +1,45 @@
+package com.microservice.gateway.loadbalancer;
+
+import com.microservice.gateway.discovery.PushedInstanceRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves instance lists from the registry change feed while it is connected, and from the
+ * polled discovery supplier otherwise or when the feed has never seen the service. A service
+ * the feed knows with no UP instances gets an empty list: the polled list may still hold the
+ * instances the feed has just cancelled.
+ */
+public class PushedServiceInstanceListSupplier implements ServiceInstanceListSupplier {
+
+    private final ServiceInstanceListSupplier polling;
+    private final PushedInstanceRegistry pushedInstanceRegistry;
+
+    public PushedServiceInstanceListSupplier(ServiceInstanceListSupplier polling,
+                                             PushedInstanceRegistry pushedInstanceRegistry) {
+        this.polling = polling;
+        this.pushedInstanceRegistry = pushedInstanceRegistry;
+    }
+
+    @Override
+    public String getServiceId() {
+        return polling.getServiceId();
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return Flux.defer(() -> {
+            if (pushedInstanceRegistry.isLive()) {
+                Optional<List<ServiceInstance>> instances = pushedInstanceRegistry.getInstances(getServiceId());
+                if (instances.isPresent()) {
+                    return Flux.just(instances.get());
+                }
+            }
+            return polling.get();
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package com.microservice.gateway.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory token buckets keyed by string.
+ *
+ * Buckets live in a fixed number of lock stripes so unrelated keys rarely contend,
+ * are refilled lazily from elapsed time on each access rather than by a timer,
+ * and are evicted once they have been idle long enough to be full again.
+ */
+@Component
+public class TokenBucketRegistry {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final Stripe[] stripes;
+    private final long idleTimeoutNanos;
+
+    public TokenBucketRegistry(@Value("${gateway.rate-limit.stripes:64}") int stripeCount,
+                               @Value("${gateway.rate-limit.idle-timeout:PT10M}") Duration idleTimeout) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * Takes one token from the bucket for key, creating a full bucket on first use.
+     * @param replenishRate tokens added per second
+     * @param burstCapacity maximum tokens the bucket holds, defaults to one second of tokens when not positive
+     */
+    public Result tryConsume(String key, double replenishRate, long burstCapacity) {
+        long capacity = burstCapacity > 0 ? burstCapacity : Math.max(1, (long) Math.ceil(replenishRate));
+        long now = System.nanoTime();
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket.tryConsume(now, replenishRate, capacity);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.buckets.values().removeIf(bucket -> bucket.isIdleAndFull(now, idleTimeoutNanos));
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * @param remaining whole tokens left after this request
+     * @param retryAfterNanos time until a token is available, 0 when allowed
+     */
+    public record Result(boolean allowed, long limit, long remaining, long retryAfterNanos) {
+    }
+
+    private static final class Stripe {
+        private final Map<String, Bucket> buckets = new HashMap<>();
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+        private double replenishRate;
+        private long burstCapacity;
+
+        Bucket(long burstCapacity, long now) {
+            this.tokens = burstCapacity;
+            this.lastRefillNanos = now;
+            this.burstCapacity = burstCapacity;
+        }
+
+        Result tryConsume(long now, double replenishRate, long burstCapacity) {
+            this.replenishRate = replenishRate;
+            this.burstCapacity = burstCapacity;
+            tokens = Math.min(burstCapacity, tokens + (now - lastRefillNanos) * replenishRate / NANOS_PER_SECOND);
+            lastRefillNanos = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return new Result(true, burstCapacity, (long) tokens, 0);
+            }
+            long retryAfter = (long) Math.ceil((1 - tokens) / replenishRate * NANOS_PER_SECOND);
+            return new Result(false, burstCapacity, 0, retryAfter);
+        }
+
+        boolean isIdleAndFull(long now, long idleTimeoutNanos) {
+            long idle = now - lastRefillNanos;
+            return idle > idleTimeoutNanos && tokens + idle * replenishRate / NANOS_PER_SECOND >= burstCapacity;
+        }
+    }
+}
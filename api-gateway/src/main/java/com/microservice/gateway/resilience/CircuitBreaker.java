@@ -0,0 +1,232 @@
+package com.microservice.gateway.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Count-based circuit breaker with a semaphore bulkhead.
+ *
+ * The breaker opens when the failure rate or slow-call rate over the last
+ * slidingWindowSize calls reaches its threshold, rejects calls while open, then lets a
+ * few probe calls through in half-open state to decide whether to close again.
+ */
+public class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private static final int FAILURE = 1;
+    private static final int SLOW = 2;
+    private static final int MAX_TRANSITIONS = 20;
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * @param maxConcurrentCalls bulkhead size; zero or less disables the bulkhead
+     */
+    public record Settings(float failureRateThreshold, float slowCallRateThreshold, Duration slowCallDuration,
+                           int slidingWindowSize, int minimumCalls, Duration waitDurationInOpenState,
+                           int permittedCallsInHalfOpenState, int maxConcurrentCalls) {
+    }
+
+    public record Transition(State from, State to, Instant at, String reason) {
+    }
+
+    public enum Rejection {
+        CIRCUIT_OPEN, BULKHEAD_FULL
+    }
+
+    private final String name;
+    private final Settings settings;
+    private final Semaphore bulkhead;
+    private final Deque<Transition> transitions = new ArrayDeque<>();
+    private final int[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private int windowSlow;
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermitted;
+    private int halfOpenCalls;
+    private int halfOpenFailures;
+    private int halfOpenSlow;
+
+    public CircuitBreaker(String name, Settings settings) {
+        this.name = name;
+        this.settings = settings;
+        this.window = new int[Math.max(1, settings.slidingWindowSize())];
+        this.bulkhead = settings.maxConcurrentCalls() > 0 ? new Semaphore(settings.maxConcurrentCalls()) : null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Acquires a breaker permission and a bulkhead slot.
+     * @return null if the call may proceed, otherwise why it was rejected
+     */
+    public Rejection tryAcquire() {
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            return Rejection.BULKHEAD_FULL;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openedAtNanos >= settings.waitDurationInOpenState().toNanos()) {
+                transition(State.HALF_OPEN, "wait duration elapsed");
+            }
+            if (state == State.OPEN
+                    || (state == State.HALF_OPEN && halfOpenPermitted >= settings.permittedCallsInHalfOpenState())) {
+                releaseBulkhead();
+                return Rejection.CIRCUIT_OPEN;
+            }
+            if (state == State.HALF_OPEN) {
+                halfOpenPermitted++;
+            }
+        }
+        return null;
+    }
+
+    public void onSuccess(long durationNanos) {
+        record(durationNanos >= settings.slowCallDuration().toNanos() ? SLOW : 0);
+    }
+
+    public void onFailure(long durationNanos) {
+        record(FAILURE | (durationNanos >= settings.slowCallDuration().toNanos() ? SLOW : 0));
+    }
+
+    /**
+     * Releases a permission without recording an outcome, e.g. when the client cancelled.
+     */
+    public void onIgnored() {
+        synchronized (this) {
+            if (state == State.HALF_OPEN && halfOpenPermitted > halfOpenCalls) {
+                halfOpenPermitted--;
+            }
+        }
+        releaseBulkhead();
+    }
+
+    /**
+     * Nanoseconds until an open breaker allows probe calls, zero when not open.
+     */
+    public synchronized long remainingOpenNanos() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, settings.waitDurationInOpenState().toNanos() - (System.nanoTime() - openedAtNanos));
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized float getFailureRate() {
+        return windowCalls < settings.minimumCalls() ? -1 : 100f * windowFailures / windowCalls;
+    }
+
+    public synchronized float getSlowCallRate() {
+        return windowCalls < settings.minimumCalls() ? -1 : 100f * windowSlow / windowCalls;
+    }
+
+    public int getAvailableConcurrentCalls() {
+        return bulkhead != null ? bulkhead.availablePermits() : -1;
+    }
+
+    public synchronized List<Transition> getTransitions() {
+        return new ArrayList<>(transitions);
+    }
+
+    private void record(int outcome) {
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                recordHalfOpen(outcome);
+            } else if (state == State.CLOSED) {
+                recordClosed(outcome);
+            }
+        }
+        releaseBulkhead();
+    }
+
+    private void recordClosed(int outcome) {
+        int evicted = window[windowIndex];
+        if (windowCalls == window.length) {
+            windowFailures -= evicted & FAILURE;
+            windowSlow -= (evicted & SLOW) >> 1;
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        windowFailures += outcome & FAILURE;
+        windowSlow += (outcome & SLOW) >> 1;
+
+        if (windowCalls < settings.minimumCalls()) {
+            return;
+        }
+        float failureRate = 100f * windowFailures / windowCalls;
+        float slowRate = 100f * windowSlow / windowCalls;
+        if (failureRate >= settings.failureRateThreshold()) {
+            transition(State.OPEN, String.format("failure rate %.1f%%", failureRate));
+        } else if (slowRate >= settings.slowCallRateThreshold()) {
+            transition(State.OPEN, String.format("slow call rate %.1f%%", slowRate));
+        }
+    }
+
+    private void recordHalfOpen(int outcome) {
+        halfOpenCalls++;
+        halfOpenFailures += outcome & FAILURE;
+        halfOpenSlow += (outcome & SLOW) >> 1;
+        if (halfOpenCalls < settings.permittedCallsInHalfOpenState()) {
+            return;
+        }
+        float failureRate = 100f * halfOpenFailures / halfOpenCalls;
+        float slowRate = 100f * halfOpenSlow / halfOpenCalls;
+        if (failureRate >= settings.failureRateThreshold() || slowRate >= settings.slowCallRateThreshold()) {
+            transition(State.OPEN, String.format("probe failure rate %.1f%%, slow rate %.1f%%", failureRate, slowRate));
+        } else {
+            transition(State.CLOSED, "probes succeeded");
+        }
+    }
+
+    private void transition(State to, String reason) {
+        log.info("Circuit breaker '{}' {} -> {}: {}", name, state, to, reason);
+        transitions.addLast(new Transition(state, to, Instant.now(), reason));
+        if (transitions.size() > MAX_TRANSITIONS) {
+            transitions.removeFirst();
+        }
+        state = to;
+        halfOpenPermitted = 0;
+        halfOpenCalls = 0;
+        halfOpenFailures = 0;
+        halfOpenSlow = 0;
+        if (to == State.OPEN) {
+            openedAtNanos = System.nanoTime();
+        }
+        if (to == State.CLOSED) {
+            windowIndex = 0;
+            windowCalls = 0;
+            windowFailures = 0;
+            windowSlow = 0;
+        }
+    }
+
+    private void releaseBulkhead() {
+        if (bulkhead != null) {
+            bulkhead.release();
+        }
+    }
+}
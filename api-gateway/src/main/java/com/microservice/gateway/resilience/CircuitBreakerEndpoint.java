@@ -0,0 +1,52 @@
+package com.microservice.gateway.resilience;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Circuit breaker state at /actuator/circuitbreakers and /actuator/circuitbreakers/{name};
+ * an unknown name answers 404.
+ */
+@Component
+@Endpoint(id = "circuitbreakers")
+public class CircuitBreakerEndpoint {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    public CircuitBreakerEndpoint(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> circuitBreakers() {
+        return circuitBreakerRegistry.getAll().stream()
+                .sorted(Comparator.comparing(CircuitBreaker::getName))
+                .map(this::describe)
+                .toList();
+    }
+
+    @ReadOperation
+    public Map<String, Object> circuitBreaker(@Selector String name) {
+        CircuitBreaker breaker = circuitBreakerRegistry.get(name);
+        return breaker != null ? describe(breaker) : null;
+    }
+
+    private Map<String, Object> describe(CircuitBreaker breaker) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("name", breaker.getName());
+        description.put("state", breaker.getState());
+        description.put("failureRate", breaker.getFailureRate());
+        description.put("slowCallRate", breaker.getSlowCallRate());
+        description.put("availableConcurrentCalls", breaker.getAvailableConcurrentCalls());
+        description.put("settings", breaker.getSettings());
+        description.put("transitions", breaker.getTransitions());
+        return description;
+    }
+}
@@ -0,0 +1,53 @@
+package com.microservice.gateway.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory circuit breakers by name, registered when routes are built. Routes that name
+ * the same breaker share it and must configure it identically; a breaker keeps its
+ * settings and state for the life of the gateway, so changing them needs a restart.
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public CircuitBreakerRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the breaker with this name, creating it on first registration.
+     * @throws IllegalStateException if the breaker exists with different settings
+     */
+    public CircuitBreaker register(String name, CircuitBreaker.Settings settings) {
+        CircuitBreaker breaker = breakers.computeIfAbsent(name, key -> {
+            Gauge.builder("gateway.circuitbreaker.state", breakers,
+                            all -> all.containsKey(key) ? all.get(key).getState().ordinal() : -1)
+                    .tag("name", key)
+                    .description("0 closed, 1 open, 2 half-open")
+                    .register(meterRegistry);
+            return new CircuitBreaker(key, settings);
+        });
+        if (!breaker.getSettings().equals(settings)) {
+            throw new IllegalStateException("Circuit breaker '" + name + "' is configured with conflicting settings: "
+                    + breaker.getSettings() + " and " + settings);
+        }
+        return breaker;
+    }
+
+    public CircuitBreaker get(String name) {
+        return breakers.get(name);
+    }
+
+    public Collection<CircuitBreaker> getAll() {
+        return breakers.values();
+    }
+}
@@ -0,0 +1,78 @@
+package com.microservice.gateway.security;
+
+import com.microservice.gateway.filter.GatewayFilterOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Enforces the gateway.auth-policy rules on every routed request, so calls without a valid
+ * token or without the required permission are rejected before reaching a service.
+ *
+ * The rules are compiled into an {@link AuthPolicyTrie} at startup and recompiled after a
+ * configuration refresh; requests in flight keep the trie they started with.
+ */
+@Component
+public class AuthPolicyFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthPolicyFilter.class);
+
+    private final AuthPolicyProperties properties;
+    private final JwtUtil jwtUtil;
+    private volatile AuthPolicyTrie policies;
+
+    public AuthPolicyFilter(AuthPolicyProperties properties, JwtUtil jwtUtil) {
+        this.properties = properties;
+        this.jwtUtil = jwtUtil;
+        this.policies = AuthPolicyTrie.compile(properties);
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void recompile() {
+        try {
+            policies = AuthPolicyTrie.compile(properties);
+            log.info("Recompiled {} gateway auth policy rules", properties.getRules().size());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid gateway.auth-policy after refresh, keeping previous rules: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        AuthPolicyTrie.Policy policy = policies.match(request.getMethod(), request.getPath().pathWithinApplication().value());
+        if (policy.access() == AuthPolicyProperties.Access.PUBLIC) {
+            return chain.filter(exchange);
+        }
+        if (jwtUtil.resolveClaims(exchange) == null) {
+            exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            return onError(exchange, HttpStatus.UNAUTHORIZED);
+        }
+        if (policy.permission() != null && !jwtUtil.resolvePermissions(exchange).contains(policy.permission())) {
+            return onError(exchange, HttpStatus.FORBIDDEN);
+        }
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> onError(ServerWebExchange exchange, HttpStatus status) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        return response.setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return GatewayFilterOrder.AUTH_POLICY;
+    }
+}
@@ -0,0 +1,79 @@
+package com.microservice.gateway.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * gateway.auth-policy settings. Each rule applies to a path pattern and optionally to a set
+ * of methods; paths no rule matches get defaultAccess.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.auth-policy")
+public class AuthPolicyProperties {
+
+    public enum Access {
+        PUBLIC,
+        AUTHENTICATED
+    }
+
+    private Access defaultAccess = Access.AUTHENTICATED;
+    private List<Rule> rules = new ArrayList<>();
+
+    public static class Rule {
+        private String path;
+        private List<String> methods = new ArrayList<>();
+        private Access access = Access.AUTHENTICATED;
+        private String permission;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public Access getAccess() {
+            return access;
+        }
+
+        public void setAccess(Access access) {
+            this.access = access;
+        }
+
+        public String getPermission() {
+            return permission;
+        }
+
+        public void setPermission(String permission) {
+            this.permission = permission;
+        }
+    }
+
+    public Access getDefaultAccess() {
+        return defaultAccess;
+    }
+
+    public void setDefaultAccess(Access defaultAccess) {
+        this.defaultAccess = defaultAccess;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+}
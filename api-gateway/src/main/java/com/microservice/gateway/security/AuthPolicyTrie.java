@@ -0,0 +1,130 @@
+package com.microservice.gateway.security;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Auth rules compiled into a trie of path segments.
+ *
+ * Patterns are literal segments, single-segment wildcards ({@code *} or {@code {name}}) and
+ * an optional trailing {@code **}. Lookup walks the request path once, preferring literal
+ * children over wildcards and falling back to a wildcard sibling only when a literal branch
+ * dead-ends; a pattern ending at the last segment beats any {@code **} prefix, and the
+ * deepest {@code **} prefix wins otherwise. Within a node, rules are tried in configured
+ * order and the first whose methods include the request method applies.
+ */
+public final class AuthPolicyTrie {
+
+    public record Policy(AuthPolicyProperties.Access access, String permission) {
+    }
+
+    private record Entry(Set<HttpMethod> methods, Policy policy) {
+
+        boolean matches(HttpMethod method) {
+            return methods.isEmpty() || methods.contains(method);
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node wildcard;
+        private final List<Entry> exact = new ArrayList<>();
+        private final List<Entry> prefix = new ArrayList<>();
+    }
+
+    private final Node root = new Node();
+    private final Policy defaultPolicy;
+
+    private AuthPolicyTrie(Policy defaultPolicy) {
+        this.defaultPolicy = defaultPolicy;
+    }
+
+    public static AuthPolicyTrie compile(AuthPolicyProperties properties) {
+        AuthPolicyTrie trie = new AuthPolicyTrie(new Policy(properties.getDefaultAccess(), null));
+        for (AuthPolicyProperties.Rule rule : properties.getRules()) {
+            if (rule.getPath() == null) {
+                throw new IllegalArgumentException("gateway.auth-policy rule without a path");
+            }
+            Set<HttpMethod> methods = rule.getMethods().stream()
+                    .map(method -> HttpMethod.valueOf(method.trim().toUpperCase()))
+                    .collect(Collectors.toUnmodifiableSet());
+            trie.insert(rule.getPath(), new Entry(methods, new Policy(rule.getAccess(), rule.getPermission())));
+        }
+        return trie;
+    }
+
+    private void insert(String pattern, Entry entry) {
+        String[] segments = segments(pattern);
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' must be the last segment of " + pattern);
+                }
+                node.prefix.add(entry);
+                return;
+            }
+            if (segment.equals("*") || (segment.startsWith("{") && segment.endsWith("}"))) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.literals.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+        node.exact.add(entry);
+    }
+
+    public Policy match(HttpMethod method, String path) {
+        Policy policy = match(root, segments(path), 0, method);
+        return policy != null ? policy : defaultPolicy;
+    }
+
+    private Policy match(Node node, String[] segments, int index, HttpMethod method) {
+        if (index == segments.length) {
+            Policy exact = first(node.exact, method);
+            return exact != null ? exact : first(node.prefix, method);
+        }
+        Node literal = node.literals.get(segments[index]);
+        if (literal != null) {
+            Policy policy = match(literal, segments, index + 1, method);
+            if (policy != null) {
+                return policy;
+            }
+        }
+        if (node.wildcard != null) {
+            Policy policy = match(node.wildcard, segments, index + 1, method);
+            if (policy != null) {
+                return policy;
+            }
+        }
+        return first(node.prefix, method);
+    }
+
+    private static Policy first(List<Entry> entries, HttpMethod method) {
+        for (Entry entry : entries) {
+            if (entry.matches(method)) {
+                return entry.policy();
+            }
+        }
+        return null;
+    }
+
+    private static String[] segments(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+}
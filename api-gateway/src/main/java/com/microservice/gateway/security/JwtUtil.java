@@ -0,0 +1,128 @@
+package com.microservice.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class JwtUtil {
+
+    private static final String CLAIMS_ATTR = JwtUtil.class.getName() + ".claims";
+    private static final Claims INVALID = Jwts.claims().build();
+
+    private final SecretKey signingKey;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Claims extractClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(signingKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    /**
+     * Verifies the request's bearer token once per exchange and caches the result, so
+     * several gateway filters can read the claims without re-parsing the token.
+     * @return the verified claims, or null if the token is missing or invalid
+     */
+    public Claims resolveClaims(ServerWebExchange exchange) {
+        Claims cached = exchange.getAttribute(CLAIMS_ATTR);
+        if (cached == null) {
+            String token = extractBearerToken(exchange.getRequest());
+            cached = INVALID;
+            if (token != null) {
+                try {
+                    cached = extractClaims(token);
+                } catch (Exception e) {
+                    // Leave as INVALID; the services report the precise error
+                }
+            }
+            exchange.getAttributes().put(CLAIMS_ATTR, cached);
+        }
+        return cached == INVALID ? null : cached;
+    }
+
+    /**
+     * Reuses the claims already verified on source for target, which carries the same token,
+     * e.g. a batch sub-request.
+     */
+    public void shareClaims(ServerWebExchange source, ServerWebExchange target) {
+        resolveClaims(source);
+        target.getAttributes().put(CLAIMS_ATTR, source.getAttribute(CLAIMS_ATTR));
+    }
+
+    /**
+     * Permission scope of the caller: the sorted permissions claim, or null without a valid token.
+     */
+    public String resolvePermissionScope(ServerWebExchange exchange) {
+        Claims claims = resolveClaims(exchange);
+        if (claims == null) {
+            return null;
+        }
+        String permissions = claims.get("permissions", String.class);
+        if (permissions == null || permissions.isEmpty()) {
+            return "";
+        }
+        return Arrays.stream(permissions.split(","))
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Permissions from the permissions claim, empty without a valid token.
+     */
+    public Set<String> resolvePermissions(ServerWebExchange exchange) {
+        Claims claims = resolveClaims(exchange);
+        String permissions = claims != null ? claims.get("permissions", String.class) : null;
+        if (permissions == null || permissions.isEmpty()) {
+            return Set.of();
+        }
+        return Arrays.stream(permissions.split(","))
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Roles from the roles claim, empty without a valid token.
+     */
+    public Set<String> resolveRoles(ServerWebExchange exchange) {
+        Claims claims = resolveClaims(exchange);
+        String roles = claims != null ? claims.get("roles", String.class) : null;
+        if (roles == null || roles.isEmpty()) {
+            return Set.of();
+        }
+        return Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .filter(r -> !r.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the bearer token from the Authorization header, or null if absent.
+     */
+    public static String extractBearerToken(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        return authHeader.substring(7);
+    }
+}
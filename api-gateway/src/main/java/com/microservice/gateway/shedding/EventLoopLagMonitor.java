@@ -0,0 +1,61 @@
+package com.microservice.gateway.shedding;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.LoopResources;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how late the server's Netty event loops run scheduled tasks. A probe on each
+ * loop reschedules itself every probe interval and records how much later than planned
+ * it ran; a blocked or saturated loop shows up as lag.
+ */
+@Component
+public class EventLoopLagMonitor {
+
+    private final long intervalNanos;
+    private final List<AtomicLong> lags = new CopyOnWriteArrayList<>();
+
+    public EventLoopLagMonitor(LoadSheddingProperties properties) {
+        this.intervalNanos = properties.getProbeInterval().toNanos();
+    }
+
+    @PostConstruct
+    public void start() {
+        EventLoopGroup group = HttpResources.get().onServer(LoopResources.DEFAULT_NATIVE);
+        for (EventExecutor loop : group) {
+            AtomicLong lag = new AtomicLong();
+            lags.add(lag);
+            schedule(loop, lag);
+        }
+    }
+
+    /**
+     * Highest lag across loops from their most recent probes.
+     */
+    public long maxLagNanos() {
+        long max = 0;
+        for (AtomicLong lag : lags) {
+            max = Math.max(max, lag.get());
+        }
+        return max;
+    }
+
+    private void schedule(EventExecutor loop, AtomicLong lag) {
+        if (loop.isShuttingDown()) {
+            return;
+        }
+        long scheduledAt = System.nanoTime();
+        loop.schedule(() -> {
+            lag.set(Math.max(0, System.nanoTime() - scheduledAt - intervalNanos));
+            schedule(loop, lag);
+        }, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,73 @@
+package com.microservice.gateway.shedding;
+
+import com.microservice.gateway.concurrency.ConcurrencyLimiterRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides how many priority tiers to shed. While the event loops lag or upstream queues
+ * are long, each evaluation sheds one more tier, lowest first; once healthy for the
+ * recovery interval, one tier is restored at a time.
+ */
+@Component
+public class LoadShedder {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadShedder.class);
+    private static final int MAX_LEVEL = Priority.values().length - 1;
+
+    private final LoadSheddingProperties properties;
+    private final EventLoopLagMonitor eventLoopLagMonitor;
+    private final ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+    private volatile int level;
+    private long healthySinceNanos = System.nanoTime();
+
+    public LoadShedder(LoadSheddingProperties properties, EventLoopLagMonitor eventLoopLagMonitor,
+                       ConcurrencyLimiterRegistry concurrencyLimiterRegistry, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.eventLoopLagMonitor = eventLoopLagMonitor;
+        this.concurrencyLimiterRegistry = concurrencyLimiterRegistry;
+        Gauge.builder("gateway.shedding.level", this, shedder -> shedder.level)
+                .description("Number of priority tiers currently shed")
+                .register(meterRegistry);
+        Gauge.builder("gateway.shedding.event-loop-lag", eventLoopLagMonitor, m -> m.maxLagNanos() / 1_000_000d)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * True if requests of this priority should currently be rejected.
+     */
+    public boolean shouldShed(Priority priority) {
+        return properties.isEnabled() && priority.ordinal() > MAX_LEVEL - level;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.load-shedding.evaluation-interval-ms:500}")
+    public void evaluate() {
+        long now = System.nanoTime();
+        long lagNanos = eventLoopLagMonitor.maxLagNanos();
+        double queueRatio = concurrencyLimiterRegistry.maxQueueRatio();
+        boolean overloaded = lagNanos > properties.getEventLoopLagThreshold().toNanos()
+                || queueRatio > properties.getUpstreamQueueThreshold();
+
+        int previous = level;
+        if (overloaded) {
+            healthySinceNanos = now;
+            level = Math.min(MAX_LEVEL, level + 1);
+        } else if (level > 0 && now - healthySinceNanos >= properties.getRecoveryInterval().toNanos()) {
+            healthySinceNanos = now;
+            level--;
+        }
+        if (level != previous) {
+            log.warn("Load shedding level {} -> {} (event loop lag {} ms, upstream queue ratio {})",
+                    previous, level, lagNanos / 1_000_000, String.format("%.2f", queueRatio));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.microservice.gateway.shedding;
+
+import com.microservice.gateway.filter.GatewayFilterOrder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rejects requests of the tiers {@link LoadShedder} is currently shedding with 503 and
+ * Retry-After, before any other route work is done.
+ */
+@Component
+public class LoadSheddingFilter implements GlobalFilter, Ordered {
+
+    private final RequestPriorityClassifier requestPriorityClassifier;
+    private final LoadShedder loadShedder;
+    private final MeterRegistry meterRegistry;
+
+    public LoadSheddingFilter(RequestPriorityClassifier requestPriorityClassifier, LoadShedder loadShedder,
+                              MeterRegistry meterRegistry) {
+        this.requestPriorityClassifier = requestPriorityClassifier;
+        this.loadShedder = loadShedder;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Priority priority = requestPriorityClassifier.classify(exchange);
+        String criticality = priority.name().toLowerCase();
+        meterRegistry.counter("gateway.shedding.requests", "priority", criticality).increment();
+        if (!loadShedder.shouldShed(priority)) {
+            return chain.filter(exchange);
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        meterRegistry.counter("gateway.shedding.shed", "priority", criticality,
+                "route", route != null ? route.getId() : "unknown").increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(1 + loadShedder.getLevel()));
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        return response.setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return GatewayFilterOrder.LOAD_SHEDDING;
+    }
+}
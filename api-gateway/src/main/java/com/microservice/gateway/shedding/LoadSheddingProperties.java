@@ -0,0 +1,129 @@
+package com.microservice.gateway.shedding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * gateway.load-shedding settings. Rules are checked in order and the first match sets the
+ * request's priority; a rule matches when all of its non-empty fields match.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.load-shedding")
+public class LoadSheddingProperties {
+
+    private boolean enabled = true;
+    private Priority defaultPriority = Priority.NORMAL;
+    private List<Rule> rules = new ArrayList<>();
+    private Duration eventLoopLagThreshold = Duration.ofMillis(50);
+    private double upstreamQueueThreshold = 0.5;
+    private Duration probeInterval = Duration.ofMillis(100);
+    private Duration recoveryInterval = Duration.ofSeconds(5);
+
+    public static class Rule {
+        private String route;
+        private String path;
+        private String method;
+        private String role;
+        private Priority priority = Priority.NORMAL;
+
+        public String getRoute() {
+            return route;
+        }
+
+        public void setRoute(String route) {
+            this.route = route;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public void setRole(String role) {
+            this.role = role;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public void setPriority(Priority priority) {
+            this.priority = priority;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Priority getDefaultPriority() {
+        return defaultPriority;
+    }
+
+    public void setDefaultPriority(Priority defaultPriority) {
+        this.defaultPriority = defaultPriority;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public Duration getEventLoopLagThreshold() {
+        return eventLoopLagThreshold;
+    }
+
+    public void setEventLoopLagThreshold(Duration eventLoopLagThreshold) {
+        this.eventLoopLagThreshold = eventLoopLagThreshold;
+    }
+
+    public double getUpstreamQueueThreshold() {
+        return upstreamQueueThreshold;
+    }
+
+    public void setUpstreamQueueThreshold(double upstreamQueueThreshold) {
+        this.upstreamQueueThreshold = upstreamQueueThreshold;
+    }
+
+    public Duration getProbeInterval() {
+        return probeInterval;
+    }
+
+    public void setProbeInterval(Duration probeInterval) {
+        this.probeInterval = probeInterval;
+    }
+
+    public Duration getRecoveryInterval() {
+        return recoveryInterval;
+    }
+
+    public void setRecoveryInterval(Duration recoveryInterval) {
+        this.recoveryInterval = recoveryInterval;
+    }
+}
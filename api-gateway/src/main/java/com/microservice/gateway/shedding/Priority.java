@@ -0,0 +1,9 @@
+package com.microservice.gateway.shedding;
+
+/**
+ * Request criticality tiers, most important first. Overload sheds from the bottom up;
+ * CRITICAL is never shed.
+ */
+public enum Priority {
+    CRITICAL, HIGH, NORMAL, LOW
+}
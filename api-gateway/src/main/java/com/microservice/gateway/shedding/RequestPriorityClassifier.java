@@ -0,0 +1,68 @@
+package com.microservice.gateway.shedding;
+
+import com.microservice.gateway.security.JwtUtil;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * Assigns each request a {@link Priority} from the gateway.load-shedding rules.
+ */
+@Component
+public class RequestPriorityClassifier {
+
+    public static final String PRIORITY_ATTR = RequestPriorityClassifier.class.getName() + ".priority";
+
+    private record CompiledRule(String route, PathPattern path, String method, String role, Priority priority) {
+    }
+
+    private final List<CompiledRule> rules;
+    private final Priority defaultPriority;
+    private final JwtUtil jwtUtil;
+
+    public RequestPriorityClassifier(LoadSheddingProperties properties, JwtUtil jwtUtil) {
+        this.rules = properties.getRules().stream()
+                .map(rule -> new CompiledRule(rule.getRoute(),
+                        rule.getPath() != null ? PathPatternParser.defaultInstance.parse(rule.getPath()) : null,
+                        rule.getMethod(), rule.getRole(), rule.getPriority()))
+                .toList();
+        this.defaultPriority = properties.getDefaultPriority();
+        this.jwtUtil = jwtUtil;
+    }
+
+    public Priority classify(ServerWebExchange exchange) {
+        Priority cached = exchange.getAttribute(PRIORITY_ATTR);
+        if (cached != null) {
+            return cached;
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+        Priority priority = defaultPriority;
+        for (CompiledRule rule : rules) {
+            if (matches(rule, exchange, routeId)) {
+                priority = rule.priority();
+                break;
+            }
+        }
+        exchange.getAttributes().put(PRIORITY_ATTR, priority);
+        return priority;
+    }
+
+    private boolean matches(CompiledRule rule, ServerWebExchange exchange, String routeId) {
+        if (rule.route() != null && !rule.route().equals(routeId)) {
+            return false;
+        }
+        if (rule.method() != null && !rule.method().equalsIgnoreCase(exchange.getRequest().getMethod().name())) {
+            return false;
+        }
+        if (rule.path() != null && !rule.path().matches(exchange.getRequest().getPath().pathWithinApplication())) {
+            return false;
+        }
+        return rule.role() == null || jwtUtil.resolveRoles(exchange).contains(rule.role());
+    }
+}
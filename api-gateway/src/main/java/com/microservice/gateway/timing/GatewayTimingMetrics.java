@@ -0,0 +1,57 @@
+package com.microservice.gateway.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers with percentile histograms; quantiles are computed from the buckets at query
+ * time, so they can be aggregated across instances and routes. Timers are cached by tag values
+ * so recording on the event loop is a map lookup and a histogram update, without building
+ * meter ids.
+ */
+@Component
+public class GatewayTimingMetrics {
+
+    private record TotalKey(String route, String instance, String status) {
+    }
+
+    private record PhaseKey(String route, String phase, String attempt) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TotalKey, Timer> totals = new ConcurrentHashMap<>();
+    private final Map<PhaseKey, Timer> phases = new ConcurrentHashMap<>();
+
+    public GatewayTimingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordTotal(String route, String instance, String status, long nanos) {
+        totals.computeIfAbsent(new TotalKey(route, instance, status), key -> Timer.builder("gateway.request.latency")
+                        .tags("route", key.route(), "instance", key.instance(), "status", key.status())
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param attempt "primary", or "hedge" when the response came from a hedged attempt
+     */
+    public void recordPhase(String route, String phase, String attempt, long nanos) {
+        phases.computeIfAbsent(new PhaseKey(route, phase, attempt), key -> Timer.builder("gateway.request.phase")
+                        .tags("route", key.route(), "phase", key.phase(), "attempt", key.attempt())
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(100_000))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,120 @@
+package com.microservice.gateway.timing;
+
+import com.microservice.gateway.filter.GatewayFilterOrder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * Times every routed request from arrival until its response has been written, records the
+ * total and the per-phase breakdown from {@link RequestTimings}, and optionally reports the
+ * phases to the client in a Server-Timing header.
+ */
+@Component
+public class RequestTimingFilter implements GlobalFilter, Ordered {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final GatewayTimingMetrics gatewayTimingMetrics;
+    private final boolean serverTimingHeader;
+
+    public RequestTimingFilter(GatewayTimingMetrics gatewayTimingMetrics,
+                               @Value("${gateway.timing.server-timing-header:false}") boolean serverTimingHeader) {
+        this.gatewayTimingMetrics = gatewayTimingMetrics;
+        this.serverTimingHeader = serverTimingHeader;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RequestTimings timings = new RequestTimings();
+        exchange.getAttributes().put(RequestTimings.ATTRIBUTE, timings);
+        if (serverTimingHeader) {
+            exchange.getResponse().beforeCommit(() -> {
+                exchange.getResponse().getHeaders().set(SERVER_TIMING_HEADER, serverTiming(timings));
+                return Mono.empty();
+            });
+        }
+        return chain.filter(exchange)
+                .doFinally(signal -> record(exchange, timings, signal))
+                .contextWrite(context -> context.put(RequestTimings.CONTEXT_KEY, timings));
+    }
+
+    private void record(ServerWebExchange exchange, RequestTimings timings, SignalType signal) {
+        long completed = System.nanoTime();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "none";
+
+        gatewayTimingMetrics.recordTotal(routeId, instance(exchange, timings), statusClass(exchange, signal),
+                completed - timings.getArrivedNanos());
+        String attempt = timings.isHedge() ? "hedge" : "primary";
+        if (timings.getRoutingNanos() > 0) {
+            gatewayTimingMetrics.recordPhase(routeId, "queue", attempt, timings.queueNanos());
+        }
+        if (timings.getRequestSentNanos() > 0) {
+            gatewayTimingMetrics.recordPhase(routeId, "connect", attempt, timings.connectNanos());
+        }
+        if (timings.getResponseNanos() > 0) {
+            gatewayTimingMetrics.recordPhase(routeId, "upstream", attempt, timings.upstreamNanos());
+            if (signal == SignalType.ON_COMPLETE) {
+                gatewayTimingMetrics.recordPhase(routeId, "transfer", attempt, timings.transferNanos(completed));
+            }
+        }
+    }
+
+    private String instance(ServerWebExchange exchange, RequestTimings timings) {
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (timings.getRequestSentNanos() == 0 || requestUrl == null || requestUrl.getHost() == null) {
+            return "none";
+        }
+        return requestUrl.getHost() + ":" + requestUrl.getPort();
+    }
+
+    private String statusClass(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.CANCEL) {
+            return "cancelled";
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status == null) {
+            return signal == SignalType.ON_ERROR ? "5xx" : "2xx";
+        }
+        return (status.value() / 100) + "xx";
+    }
+
+    private String serverTiming(RequestTimings timings) {
+        StringBuilder header = new StringBuilder();
+        if (timings.getRoutingNanos() > 0) {
+            appendMetric(header, "queue", timings.queueNanos());
+        }
+        if (timings.getRequestSentNanos() > 0) {
+            appendMetric(header, "connect", timings.connectNanos());
+        }
+        if (timings.getResponseNanos() > 0) {
+            appendMetric(header, "upstream", timings.upstreamNanos());
+        }
+        appendMetric(header, "gateway", System.nanoTime() - timings.getArrivedNanos());
+        return header.toString();
+    }
+
+    private void appendMetric(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.1f", nanos / 1_000_000d));
+    }
+
+    @Override
+    public int getOrder() {
+        return GatewayFilterOrder.REQUEST_TIMING;
+    }
+}
@@ -0,0 +1,82 @@
+package com.microservice.gateway.timing;
+
+/**
+ * Timestamps of one request's trip through the gateway, in System.nanoTime().
+ * Unset phases are zero, e.g. upstream phases for a response served from cache.
+ */
+public class RequestTimings {
+
+    public static final String ATTRIBUTE = RequestTimings.class.getName();
+    /** Reactor context key, so HTTP client hooks can find the timings of the request they serve. */
+    public static final String CONTEXT_KEY = RequestTimings.class.getName();
+
+    private final long arrivedNanos = System.nanoTime();
+    private volatile long routingNanos;
+    private volatile long requestSentNanos;
+    private volatile long responseNanos;
+    private volatile boolean hedge;
+
+    public long getArrivedNanos() {
+        return arrivedNanos;
+    }
+
+    public long getRoutingNanos() {
+        return routingNanos;
+    }
+
+    public void markRouting() {
+        routingNanos = System.nanoTime();
+    }
+
+    public long getRequestSentNanos() {
+        return requestSentNanos;
+    }
+
+    public void markRequestSent() {
+        requestSentNanos = System.nanoTime();
+    }
+
+    public long getResponseNanos() {
+        return responseNanos;
+    }
+
+    public void markResponse() {
+        responseNanos = System.nanoTime();
+    }
+
+    public boolean isHedge() {
+        return hedge;
+    }
+
+    /**
+     * Takes the routing, request and response marks of the attempt that produced the response,
+     * so a hedged request reports one attempt rather than a mix of both. For a winning hedge,
+     * queue time includes the hedge delay.
+     */
+    public void adopt(RequestTimings attempt, boolean hedge) {
+        routingNanos = attempt.routingNanos;
+        requestSentNanos = attempt.requestSentNanos;
+        responseNanos = attempt.responseNanos;
+        this.hedge = hedge;
+    }
+
+    /** Time spent in gateway filters, including limiter queues, before routing began. */
+    public long queueNanos() {
+        return routingNanos > 0 ? routingNanos - arrivedNanos : 0;
+    }
+
+    /** Time from routing until the request was written, mostly connection pool acquire or connect. */
+    public long connectNanos() {
+        return routingNanos > 0 && requestSentNanos > 0 ? requestSentNanos - routingNanos : 0;
+    }
+
+    /** Upstream time to first byte: request written until response headers arrived. */
+    public long upstreamNanos() {
+        return requestSentNanos > 0 && responseNanos > 0 ? responseNanos - requestSentNanos : 0;
+    }
+
+    /** Time from response headers until the body had been written to the client. */
+    public long transferNanos(long completedNanos) {
+        return responseNanos > 0 ? completedNanos - responseNanos : 0;
+    }
+}
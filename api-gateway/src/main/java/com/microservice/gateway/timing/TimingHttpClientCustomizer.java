@@ -0,0 +1,27 @@
+package com.microservice.gateway.timing;
+
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.context.ContextView;
+
+/**
+ * Marks when the upstream request was written (after a pooled connection was acquired)
+ * and when response headers arrived, for the request whose timings are in the Reactor context.
+ */
+@Component
+public class TimingHttpClientCustomizer implements HttpClientCustomizer {
+
+    @Override
+    public HttpClient customize(HttpClient httpClient) {
+        return httpClient
+                .doOnRequest((request, connection) -> timings(request.currentContextView()).markRequestSent())
+                .doOnResponse((response, connection) -> timings(response.currentContextView()).markResponse());
+    }
+
+    private RequestTimings timings(ContextView context) {
+        return context.getOrDefault(RequestTimings.CONTEXT_KEY, NO_TIMINGS);
+    }
+
+    private static final RequestTimings NO_TIMINGS = new RequestTimings();
+}
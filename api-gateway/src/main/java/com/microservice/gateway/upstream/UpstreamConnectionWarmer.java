@@ -0,0 +1,69 @@
+package com.microservice.gateway.upstream;
+
+import com.microservice.gateway.discovery.PushedInstanceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * Opens connections to upstream instances as soon as the registry feed reports them UP, so
+ * a new replica's first real requests do not each pay for a TCP connect. Only instances of
+ * services that an lb:// route forwards to are warmed: each gets a few concurrent
+ * lightweight requests through the shared gateway HttpClient, and the connections they
+ * open stay idle in that instance's pool.
+ */
+@Component
+public class UpstreamConnectionWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamConnectionWarmer.class);
+
+    private final RouteLocator routeLocator;
+    private final HttpClient httpClient;
+    private final int connections;
+    private final String path;
+    private final Duration timeout;
+
+    public UpstreamConnectionWarmer(PushedInstanceRegistry pushedInstanceRegistry, RouteLocator routeLocator,
+                                    HttpClient httpClient,
+                                    @Value("${gateway.upstream-pool.warmup.connections:2}") int connections,
+                                    @Value("${gateway.upstream-pool.warmup.path:/}") String path,
+                                    @Value("${gateway.upstream-pool.warmup.timeout:PT2S}") Duration timeout) {
+        this.routeLocator = routeLocator;
+        this.httpClient = httpClient;
+        this.connections = connections;
+        this.path = path;
+        this.timeout = timeout;
+        if (connections > 0) {
+            pushedInstanceRegistry.onInstanceUp(this::onInstanceUp);
+        }
+    }
+
+    private void onInstanceUp(ServiceInstance instance) {
+        routeLocator.getRoutes()
+                .any(route -> "lb".equalsIgnoreCase(route.getUri().getScheme())
+                        && instance.getServiceId().equalsIgnoreCase(route.getUri().getHost()))
+                .filter(routed -> routed)
+                .subscribe(routed -> warm(instance),
+                        e -> log.debug("Route lookup for {} failed: {}", instance.getServiceId(), e.toString()));
+    }
+
+    private void warm(ServiceInstance instance) {
+        String uri = (instance.isSecure() ? "https://" : "http://") + instance.getHost() + ":" + instance.getPort() + path;
+        Flux.range(0, connections)
+                .flatMap(i -> httpClient.head()
+                        .uri(uri)
+                        .responseSingle((response, body) -> body.then())
+                        .timeout(timeout), connections)
+                .then()
+                .subscribe(null,
+                        e -> log.debug("Warm-up of {} failed: {}", uri, e.toString()),
+                        () -> log.debug("Warmed {} connections to {}", connections, uri));
+    }
+}
@@ -0,0 +1,76 @@
+package com.microservice.gateway.upstream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Replaces the gateway's default upstream HttpClient with one backed by a managed
+ * connection pool. Reactor Netty keeps a separate pool per remote address, so every
+ * upstream instance gets its own max-connections and pending-acquire limits, and with
+ * metrics enabled each pool is reported under reactor.netty.connection.provider.*
+ * tagged with its remote.address.
+ *
+ * Idle connections are closed before the upstream's keep-alive timeout so the gateway
+ * never picks a connection the server has already closed, and pools of instances that
+ * have left the registry are disposed once inactive.
+ */
+@Configuration
+public class UpstreamPoolConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(
+            @Value("${gateway.upstream-pool.max-connections:100}") int maxConnections,
+            @Value("${gateway.upstream-pool.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${gateway.upstream-pool.pending-acquire-timeout:PT2S}") Duration pendingAcquireTimeout,
+            @Value("${gateway.upstream-pool.max-idle-time:PT30S}") Duration maxIdleTime,
+            @Value("${gateway.upstream-pool.max-life-time:PT5M}") Duration maxLifeTime,
+            @Value("${gateway.upstream-pool.eviction-interval:PT10S}") Duration evictionInterval,
+            @Value("${gateway.upstream-pool.dispose-inactive-after:PT5M}") Duration disposeInactiveAfter) {
+        return ConnectionProvider.builder("gateway-upstream")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictionInterval)
+                .disposeInactivePoolsInBackground(evictionInterval, disposeInactiveAfter)
+                .lifo()
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
+                                                      HttpClientSslConfigurer sslConfigurer,
+                                                      List<HttpClientCustomizer> customizers,
+                                                      ConnectionProvider upstreamConnectionProvider,
+                                                      @Value("${gateway.upstream-pool.h2c:false}") boolean h2c) {
+        return new HttpClientFactory(properties, serverProperties, sslConfigurer, customizers) {
+
+            @Override
+            protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+                return upstreamConnectionProvider;
+            }
+
+            @Override
+            protected HttpClient createInstance() {
+                HttpClient httpClient = super.createInstance();
+                // Upgrade plain-text upstream connections to HTTP/2, falling back to HTTP/1.1
+                // for instances that do not accept the upgrade.
+                return h2c ? httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11) : httpClient;
+            }
+        };
+    }
+}
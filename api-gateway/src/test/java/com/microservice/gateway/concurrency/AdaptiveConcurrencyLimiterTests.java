@@ -0,0 +1,99 @@
+package com.microservice.gateway.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTests {
+
+	// No smoothing and a window that closes after ten samples, so each window's update is visible at once
+	private static final AdaptiveConcurrencyLimiter.Settings SETTINGS = new AdaptiveConcurrencyLimiter.Settings(
+			10, 4, 100, 1.0, 1.5, 0.5, Duration.ZERO, 10, 100);
+
+	private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(SETTINGS);
+
+	@Test
+	void limitGrowsAfterAWindowAtTheLimitWithSteadyLatency() {
+		finish(acquire(10), AdaptiveConcurrencyLimiter.Permit::success);
+
+		// 10 + sqrt(10)
+		assertThat(limiter.getLimit()).isEqualTo(13);
+	}
+
+	@Test
+	void windowWithAFailureBacksTheLimitOff() {
+		List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(10);
+		permits.get(0).dropped();
+		finish(permits.subList(1, 10), AdaptiveConcurrencyLimiter.Permit::success);
+
+		assertThat(limiter.getLimit()).isEqualTo(5);
+	}
+
+	@Test
+	void limitNeverFallsBelowTheMinimum() {
+		for (int i = 0; i < 20; i++) {
+			finish(acquire(limiter.getLimit()), AdaptiveConcurrencyLimiter.Permit::dropped);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(4);
+	}
+
+	@Test
+	void windowWellBelowTheLimitLeavesItUnchanged() {
+		for (int i = 0; i < 10; i++) {
+			finish(acquire(1), AdaptiveConcurrencyLimiter.Permit::success);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(10);
+	}
+
+	@Test
+	void limitShrinksWhenLatencyClimbsAboveTheBaseline() throws InterruptedException {
+		finish(acquire(10), AdaptiveConcurrencyLimiter.Permit::success);
+		assertThat(limiter.getLimit()).isEqualTo(13);
+
+		List<AdaptiveConcurrencyLimiter.Permit> slow = acquire(13);
+		Thread.sleep(20);
+		finish(slow, AdaptiveConcurrencyLimiter.Permit::success);
+
+		// Gradient clamps at 0.5: 13 * 0.5 + sqrt(13)
+		assertThat(limiter.getLimit()).isEqualTo(10);
+	}
+
+	@Test
+	void requestOverTheLimitWaitsForAReleasedPermit() {
+		List<AdaptiveConcurrencyLimiter.Permit> permits = acquire(10);
+		CompletableFuture<Optional<AdaptiveConcurrencyLimiter.Permit>> queued =
+				limiter.acquire(1, Duration.ofSeconds(5)).toFuture();
+
+		assertThat(queued).isNotDone();
+		assertThat(limiter.getQueued()).isEqualTo(1);
+		assertThat(limiter.acquire(1, Duration.ofSeconds(5)).block()).isEmpty();
+
+		permits.get(0).ignore();
+
+		assertThat(queued.join()).isPresent();
+		assertThat(limiter.getQueued()).isZero();
+		assertThat(limiter.getInFlight()).isEqualTo(10);
+	}
+
+	private List<AdaptiveConcurrencyLimiter.Permit> acquire(int count) {
+		List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			permits.add(limiter.acquire(0, Duration.ZERO).block().orElseThrow());
+		}
+		return permits;
+	}
+
+	private static void finish(List<AdaptiveConcurrencyLimiter.Permit> permits,
+							   Consumer<AdaptiveConcurrencyLimiter.Permit> outcome) {
+		permits.forEach(outcome);
+	}
+}
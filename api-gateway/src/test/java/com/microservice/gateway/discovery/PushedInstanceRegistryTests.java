@@ -0,0 +1,92 @@
+package com.microservice.gateway.discovery;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PushedInstanceRegistryTests {
+
+	private PushedInstanceRegistry registry;
+	private final List<String> cameUp = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		registry = new PushedInstanceRegistry(new SimpleMeterRegistry());
+		registry.onInstanceUp(instance -> cameUp.add(instance.getInstanceId()));
+	}
+
+	@Test
+	void snapshotReportsEveryUpInstance() {
+		registry.apply(event(RegistryEvent.Type.SNAPSHOT,
+				instance("PRODUCT-SERVICE", "p1", "UP"),
+				instance("PRODUCT-SERVICE", "p2", "STARTING")));
+
+		assertThat(cameUp).containsExactly("p1");
+	}
+
+	@Test
+	void upsertReportsOnlyInstancesThatWereNotUpBefore() {
+		registry.apply(event(RegistryEvent.Type.SNAPSHOT, instance("PRODUCT-SERVICE", "p1", "UP")));
+		cameUp.clear();
+
+		registry.apply(event(RegistryEvent.Type.UPSERT, instance("PRODUCT-SERVICE", "p1", "UP")));
+		registry.apply(event(RegistryEvent.Type.UPSERT, instance("PRODUCT-SERVICE", "p2", "STARTING")));
+		registry.apply(event(RegistryEvent.Type.UPSERT, instance("PRODUCT-SERVICE", "p2", "UP")));
+
+		assertThat(cameUp).containsExactly("p2");
+	}
+
+	@Test
+	void instanceThatGoesDownAndUpAgainIsReportedAgain() {
+		registry.apply(event(RegistryEvent.Type.SNAPSHOT, instance("PRODUCT-SERVICE", "p1", "UP")));
+		registry.apply(event(RegistryEvent.Type.CANCEL, instance("PRODUCT-SERVICE", "p1", "UP")));
+		registry.apply(event(RegistryEvent.Type.UPSERT, instance("PRODUCT-SERVICE", "p1", "UP")));
+
+		assertThat(cameUp).containsExactly("p1", "p1");
+	}
+
+	@Test
+	void resnapshotReportsOnlyNewInstances() {
+		registry.apply(event(RegistryEvent.Type.SNAPSHOT, instance("PRODUCT-SERVICE", "p1", "UP")));
+		cameUp.clear();
+
+		registry.apply(event(RegistryEvent.Type.SNAPSHOT,
+				instance("PRODUCT-SERVICE", "p1", "UP"),
+				instance("AUTH-SERVICE", "a1", "UP")));
+
+		assertThat(cameUp).containsExactly("a1");
+		assertThat(registry.getInstances("auth-service").orElseThrow()).extracting(ServiceInstance::getHost)
+				.containsExactly("a1.local");
+	}
+
+	@Test
+	void serviceWhoseLastInstanceWasCancelledStaysKnownWithNoInstances() {
+		registry.apply(event(RegistryEvent.Type.SNAPSHOT, instance("PRODUCT-SERVICE", "p1", "UP")));
+		registry.apply(event(RegistryEvent.Type.CANCEL, instance("PRODUCT-SERVICE", "p1", "UP")));
+
+		assertThat(registry.getInstances("product-service")).hasValue(List.of());
+		assertThat(registry.getInstances("auth-service")).isEmpty();
+	}
+
+	@Test
+	void snapshotKnowsServicesWithoutUpInstances() {
+		registry.apply(event(RegistryEvent.Type.SNAPSHOT, instance("PRODUCT-SERVICE", "p1", "DOWN")));
+
+		assertThat(registry.getInstances("PRODUCT-SERVICE")).hasValue(List.of());
+	}
+
+	static RegistryEvent event(RegistryEvent.Type type, RegistryInstance... instances) {
+		return new RegistryEvent(type, System.currentTimeMillis(), List.of(instances));
+	}
+
+	static RegistryInstance instance(String app, String instanceId, String status) {
+		return new RegistryInstance(app, instanceId, instanceId + ".local", 8080, false, status, Map.of());
+	}
+}
@@ -0,0 +1,75 @@
+package com.microservice.gateway.filter;
+
+import com.microservice.gateway.ratelimit.TokenBucketRegistry;
+import com.microservice.gateway.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTests {
+
+	private final RateLimitFilter filter = new RateLimitFilter(new TokenBucketRegistry(16, Duration.ofMinutes(10)),
+			new JwtUtil("mySecretKeyForJWTTokenGenerationAndValidation12345678901234567890"), new SimpleMeterRegistry());
+
+	@Test
+	void floodRejectedPerIpDoesNotDrainRouteBucket() {
+		// Rates low enough that no token refills while the test runs
+		RateLimitFilter.Config config = new RateLimitFilter.Config();
+		config.setRouteReplenishRate(0.01);
+		config.setRouteBurstCapacity(5);
+		config.setIpReplenishRate(0.01);
+		config.setIpBurstCapacity(2);
+		GatewayFilter gatewayFilter = filter.apply(config);
+
+		int allowed = 0;
+		for (int i = 0; i < 10; i++) {
+			if (send(gatewayFilter, "10.0.0.1") == null) {
+				allowed++;
+			}
+		}
+
+		assertThat(allowed).isEqualTo(2);
+		assertThat(send(gatewayFilter, "10.0.0.2")).isNull();
+		assertThat(send(gatewayFilter, "10.0.0.3")).isNull();
+	}
+
+	@Test
+	void routeBucketStillCapsAllClients() {
+		RateLimitFilter.Config config = new RateLimitFilter.Config();
+		config.setRouteReplenishRate(0.01);
+		config.setRouteBurstCapacity(3);
+		config.setIpReplenishRate(0.01);
+		config.setIpBurstCapacity(2);
+		GatewayFilter gatewayFilter = filter.apply(config);
+
+		assertThat(send(gatewayFilter, "10.0.0.1")).isNull();
+		assertThat(send(gatewayFilter, "10.0.0.2")).isNull();
+		assertThat(send(gatewayFilter, "10.0.0.3")).isNull();
+		assertThat(send(gatewayFilter, "10.0.0.4")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+	}
+
+	/**
+	 * @return the rejection status, or null if the request was forwarded
+	 */
+	private static HttpStatusCode send(GatewayFilter gatewayFilter, String clientIp) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/login")
+				.remoteAddress(new InetSocketAddress(clientIp, 40000)));
+		AtomicBoolean forwarded = new AtomicBoolean();
+		gatewayFilter.filter(exchange, e -> {
+			forwarded.set(true);
+			return Mono.empty();
+		}).block();
+		return forwarded.get() ? null : exchange.getResponse().getStatusCode();
+	}
+}
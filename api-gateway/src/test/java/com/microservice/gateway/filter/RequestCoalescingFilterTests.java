@@ -0,0 +1,105 @@
+package com.microservice.gateway.filter;
+
+import com.microservice.gateway.security.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingFilterTests {
+
+	private static final String SECRET = "mySecretKeyForJWTTokenGenerationAndValidation12345678901234567890";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RequestCoalescingFilter filter = new RequestCoalescingFilter(new JwtUtil(SECRET), meterRegistry);
+	private final String token = Jwts.builder()
+			.subject("user-1")
+			.claim("permissions", "READ_PRODUCTS")
+			.signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+			.compact();
+
+	@Test
+	void followersShareTheLeadersResponse() throws Exception {
+		assertFollowerShares(HttpStatus.OK, "{\"id\":1}");
+	}
+
+	@Test
+	void followersShareTheLeadersServerErrorInsteadOfRetryingUpstream() throws Exception {
+		assertFollowerShares(HttpStatus.SERVICE_UNAVAILABLE, "{\"error\":\"unavailable\"}");
+	}
+
+	@Test
+	void followersMakeTheirOwnCallWhenTheLeaderEndsWithoutAResponse() throws Exception {
+		GatewayFilter gatewayFilter = filter.apply(new RequestCoalescingFilter.Config());
+		AtomicInteger upstreamCalls = new AtomicInteger();
+		Sinks.Empty<Void> leaderGate = Sinks.empty();
+		GatewayFilterChain upstream = exchange -> upstreamCalls.incrementAndGet() == 1
+				? leaderGate.asMono().then(Mono.error(new IllegalStateException("connection refused")))
+				: respond(exchange, HttpStatus.OK, "{\"id\":1}");
+
+		CompletableFuture<Void> leader = gatewayFilter.filter(get("/products/1"), upstream).toFuture();
+		MockServerWebExchange follower = get("/products/1");
+		CompletableFuture<Void> followerDone = gatewayFilter.filter(follower, upstream).toFuture();
+		leaderGate.tryEmitEmpty();
+
+		assertThat(leader).failsWithin(Duration.ofSeconds(5));
+		followerDone.get();
+		assertThat(upstreamCalls).hasValue(2);
+		assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+
+	private void assertFollowerShares(HttpStatus status, String body) throws Exception {
+		GatewayFilter gatewayFilter = filter.apply(new RequestCoalescingFilter.Config());
+		AtomicInteger upstreamCalls = new AtomicInteger();
+		Sinks.Empty<Void> leaderGate = Sinks.empty();
+		GatewayFilterChain upstream = exchange -> {
+			upstreamCalls.incrementAndGet();
+			return leaderGate.asMono().then(Mono.defer(() -> respond(exchange, status, body)));
+		};
+
+		MockServerWebExchange leader = get("/products/1");
+		CompletableFuture<Void> leaderDone = gatewayFilter.filter(leader, upstream).toFuture();
+		MockServerWebExchange follower = get("/products/1");
+		CompletableFuture<Void> followerDone = gatewayFilter.filter(follower, upstream).toFuture();
+		leaderGate.tryEmitEmpty();
+		leaderDone.get();
+		followerDone.get();
+
+		assertThat(upstreamCalls).hasValue(1);
+		assertThat(follower.getResponse().getStatusCode()).isEqualTo(status);
+		assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(body);
+		assertThat(leader.getResponse().getBodyAsString().block()).isEqualTo(body);
+	}
+
+	private MockServerWebExchange get(String path) {
+		return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+	}
+
+	private static Mono<Void> respond(ServerWebExchange exchange, HttpStatus status, String body) {
+		ServerHttpResponse response = exchange.getResponse();
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		response.setStatusCode(status);
+		response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		response.getHeaders().setContentLength(bytes.length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+	}
+}
@@ -0,0 +1,86 @@
+package com.microservice.gateway.filter;
+
+import com.microservice.gateway.cache.ResponseCacheStore;
+import com.microservice.gateway.security.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTests {
+
+	private static final String SECRET = "mySecretKeyForJWTTokenGenerationAndValidation12345678901234567890";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ResponseCacheFilter filter = new ResponseCacheFilter(
+			new ResponseCacheStore(1024 * 1024, Duration.ofMinutes(10), meterRegistry), new JwtUtil(SECRET),
+			meterRegistry);
+	private final String token = Jwts.builder()
+			.subject("user-1")
+			.claim("permissions", "READ_PRODUCTS")
+			.signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+			.compact();
+
+	@Test
+	void secondIdenticalGetIsServedFromCache() {
+		GatewayFilter gatewayFilter = filter.apply(new ResponseCacheFilter.Config());
+		AtomicInteger upstreamCalls = new AtomicInteger();
+		GatewayFilterChain upstream = upstream(upstreamCalls, "max-age=10");
+
+		MockServerWebExchange first = get("/products/1");
+		gatewayFilter.filter(first, upstream).block();
+		MockServerWebExchange second = get("/products/1");
+		gatewayFilter.filter(second, upstream).block();
+
+		assertThat(upstreamCalls).hasValue(1);
+		assertThat(first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER)).isEqualTo("MISS");
+		assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER)).isEqualTo("HIT");
+		assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":1}");
+	}
+
+	@Test
+	void noStoreResponsesAreNotCached() {
+		GatewayFilter gatewayFilter = filter.apply(new ResponseCacheFilter.Config());
+		AtomicInteger upstreamCalls = new AtomicInteger();
+		GatewayFilterChain upstream = upstream(upstreamCalls, "no-cache, no-store, max-age=0, must-revalidate");
+
+		gatewayFilter.filter(get("/products/1"), upstream).block();
+		gatewayFilter.filter(get("/products/1"), upstream).block();
+
+		assertThat(upstreamCalls).hasValue(2);
+	}
+
+	private MockServerWebExchange get(String path) {
+		return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+	}
+
+	private static GatewayFilterChain upstream(AtomicInteger calls, String cacheControl) {
+		return exchange -> {
+			calls.incrementAndGet();
+			ServerHttpResponse response = exchange.getResponse();
+			byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+			response.setStatusCode(HttpStatus.OK);
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			response.getHeaders().setCacheControl(cacheControl);
+			response.getHeaders().setContentLength(body.length);
+			return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+		};
+	}
+}
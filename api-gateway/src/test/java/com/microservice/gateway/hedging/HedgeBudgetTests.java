@@ -0,0 +1,58 @@
+package com.microservice.gateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgeBudgetTests {
+
+	@Test
+	void noHedgeIsAllowedBeforeAnyRequestHasDeposited() {
+		HedgeBudget budget = new HedgeBudget(10, 10);
+
+		assertThat(budget.tryWithdraw()).isFalse();
+	}
+
+	@Test
+	void tenPercentBudgetAllowsOneHedgePerTenRequests() {
+		HedgeBudget budget = new HedgeBudget(10, 10);
+
+		int hedges = 0;
+		for (int i = 0; i < 100; i++) {
+			budget.deposit();
+			if (budget.tryWithdraw()) {
+				hedges++;
+			}
+		}
+
+		assertThat(hedges).isEqualTo(10);
+	}
+
+	@Test
+	void tenthDepositCompletesAWholeToken() {
+		HedgeBudget budget = new HedgeBudget(10, 10);
+
+		for (int i = 0; i < 9; i++) {
+			budget.deposit();
+		}
+		assertThat(budget.tryWithdraw()).isFalse();
+
+		budget.deposit();
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isFalse();
+	}
+
+	@Test
+	void reserveCapsTheBurstAfterAQuietPeriod() {
+		HedgeBudget budget = new HedgeBudget(10, 3);
+
+		for (int i = 0; i < 1000; i++) {
+			budget.deposit();
+		}
+
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isFalse();
+	}
+}
@@ -0,0 +1,66 @@
+package com.microservice.gateway.loadbalancer;
+
+import com.microservice.gateway.discovery.PushedInstanceRegistry;
+import com.microservice.gateway.discovery.RegistryEvent;
+import com.microservice.gateway.discovery.RegistryInstance;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PushedServiceInstanceListSupplierTests {
+
+	private final PushedInstanceRegistry registry = new PushedInstanceRegistry(new SimpleMeterRegistry());
+	private final ServiceInstance polled =
+			new DefaultServiceInstance("p1", "product-service", "p1.local", 8080, false);
+	private final PushedServiceInstanceListSupplier supplier =
+			new PushedServiceInstanceListSupplier(polling(List.of(polled)), registry);
+
+	@Test
+	void usesThePolledListWhileTheFeedIsDisconnected() {
+		assertThat(supplier.get().blockFirst()).containsExactly(polled);
+	}
+
+	@Test
+	void usesThePolledListForServicesTheFeedHasNotSeen() {
+		registry.apply(event(RegistryEvent.Type.SNAPSHOT, "AUTH-SERVICE", "a1"));
+
+		assertThat(supplier.get().blockFirst()).containsExactly(polled);
+	}
+
+	@Test
+	void returnsNoInstancesOnceTheFeedCancelledTheLastOne() {
+		registry.apply(event(RegistryEvent.Type.SNAPSHOT, "PRODUCT-SERVICE", "p1"));
+		assertThat(supplier.get().blockFirst()).extracting(ServiceInstance::getInstanceId).containsExactly("p1");
+
+		registry.apply(event(RegistryEvent.Type.CANCEL, "PRODUCT-SERVICE", "p1"));
+
+		assertThat(supplier.get().blockFirst()).isEmpty();
+	}
+
+	private static RegistryEvent event(RegistryEvent.Type type, String app, String instanceId) {
+		return new RegistryEvent(type, System.currentTimeMillis(), List.of(
+				new RegistryInstance(app, instanceId, instanceId + ".local", 8080, false, "UP", Map.of())));
+	}
+
+	private static ServiceInstanceListSupplier polling(List<ServiceInstance> instances) {
+		return new ServiceInstanceListSupplier() {
+			@Override
+			public String getServiceId() {
+				return "product-service";
+			}
+
+			@Override
+			public Flux<List<ServiceInstance>> get() {
+				return Flux.just(instances);
+			}
+		};
+	}
+}
@@ -0,0 +1,153 @@
+package com.microservice.gateway.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class CircuitBreakerTests {
+
+	private static final long FAST = Duration.ofMillis(10).toNanos();
+	private static final long SLOW = Duration.ofSeconds(3).toNanos();
+
+	@Test
+	void staysClosedUntilMinimumCallsAreRecorded() {
+		CircuitBreaker breaker = breaker(Duration.ofMinutes(1), 0);
+
+		for (int i = 0; i < 3; i++) {
+			call(breaker, false, FAST);
+		}
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(breaker.getFailureRate()).isEqualTo(-1);
+	}
+
+	@Test
+	void opensWhenTheFailureRateReachesTheThreshold() {
+		CircuitBreaker breaker = breaker(Duration.ofMinutes(1), 0);
+
+		call(breaker, true, FAST);
+		call(breaker, true, FAST);
+		call(breaker, false, FAST);
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		call(breaker, false, FAST);
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.Rejection.CIRCUIT_OPEN);
+		assertThat(breaker.remainingOpenNanos()).isPositive();
+		assertThat(breaker.getTransitions()).extracting(CircuitBreaker.Transition::to)
+				.containsExactly(CircuitBreaker.State.OPEN);
+	}
+
+	@Test
+	void opensWhenTheSlowCallRateReachesTheThreshold() {
+		CircuitBreaker breaker = breaker(Duration.ofMinutes(1), 0);
+
+		for (int i = 0; i < 4; i++) {
+			call(breaker, true, SLOW);
+		}
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.getTransitions().get(0).reason()).startsWith("failure rate");
+	}
+
+	@Test
+	void halfOpenLetsOnlyThePermittedProbesThroughAndClosesWhenTheySucceed() {
+		CircuitBreaker breaker = opened(Duration.ZERO);
+
+		assertThat(breaker.tryAcquire()).isNull();
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+		assertThat(breaker.tryAcquire()).isNull();
+		assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.Rejection.CIRCUIT_OPEN);
+
+		breaker.onSuccess(FAST);
+		breaker.onSuccess(FAST);
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(breaker.getFailureRate()).isEqualTo(-1);
+	}
+
+	@Test
+	void failedProbesOpenTheBreakerAgain() {
+		CircuitBreaker breaker = opened(Duration.ZERO);
+
+		assertThat(breaker.tryAcquire()).isNull();
+		assertThat(breaker.tryAcquire()).isNull();
+		breaker.onSuccess(FAST);
+		breaker.onFailure(FAST);
+
+		assertThat(breaker.getTransitions()).extracting(CircuitBreaker.Transition::to).containsExactly(
+				CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.OPEN);
+	}
+
+	@Test
+	void cancelledProbeFreesItsPermission() {
+		CircuitBreaker breaker = opened(Duration.ZERO);
+
+		assertThat(breaker.tryAcquire()).isNull();
+		assertThat(breaker.tryAcquire()).isNull();
+		breaker.onIgnored();
+
+		assertThat(breaker.tryAcquire()).isNull();
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+	}
+
+	@Test
+	void bulkheadRejectsCallsOverTheConcurrencyLimit() {
+		CircuitBreaker breaker = breaker(Duration.ofMinutes(1), 1);
+
+		assertThat(breaker.tryAcquire()).isNull();
+		assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.Rejection.BULKHEAD_FULL);
+		breaker.onSuccess(FAST);
+
+		assertThat(breaker.getAvailableConcurrentCalls()).isEqualTo(1);
+		assertThat(breaker.tryAcquire()).isNull();
+	}
+
+	@Test
+	void registryResolvesOneBreakerPerNameAndRejectsConflictingSettings() {
+		CircuitBreakerRegistry registry = new CircuitBreakerRegistry(new SimpleMeterRegistry());
+		CircuitBreaker.Settings settings = settings(Duration.ofMinutes(1), 0);
+
+		CircuitBreaker breaker = registry.register("auth-service", settings);
+
+		assertThat(registry.register("auth-service", settings(Duration.ofMinutes(1), 0))).isSameAs(breaker);
+		assertThatIllegalStateException()
+				.isThrownBy(() -> registry.register("auth-service", settings(Duration.ofMinutes(1), 5)))
+				.withMessageContaining("auth-service");
+		assertThat(registry.get("auth-service")).isSameAs(breaker);
+	}
+
+	private static CircuitBreaker opened(Duration waitDurationInOpenState) {
+		CircuitBreaker breaker = breaker(waitDurationInOpenState, 0);
+		for (int i = 0; i < 4; i++) {
+			call(breaker, true, FAST);
+		}
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		return breaker;
+	}
+
+	private static void call(CircuitBreaker breaker, boolean failed, long durationNanos) {
+		assertThat(breaker.tryAcquire()).isNull();
+		if (failed) {
+			breaker.onFailure(durationNanos);
+		} else {
+			breaker.onSuccess(durationNanos);
+		}
+	}
+
+	private static CircuitBreaker breaker(Duration waitDurationInOpenState, int maxConcurrentCalls) {
+		return new CircuitBreaker("test", settings(waitDurationInOpenState, maxConcurrentCalls));
+	}
+
+	/**
+	 * Window of 10, at least 4 calls, 50% failure and slow-call thresholds, 2 probes.
+	 */
+	private static CircuitBreaker.Settings settings(Duration waitDurationInOpenState, int maxConcurrentCalls) {
+		return new CircuitBreaker.Settings(50, 50, Duration.ofSeconds(2), 10, 4,
+				waitDurationInOpenState, 2, maxConcurrentCalls);
+	}
+}
@@ -0,0 +1,126 @@
+package com.microservice.gateway.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the gateway.auth-policy rules from the shipped application.yml.
+ */
+class AuthPolicyTrieTests {
+
+	private AuthPolicyProperties properties;
+	private AuthPolicyTrie trie;
+
+	@BeforeEach
+	void compileShippedRules() throws IOException {
+		List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+				.load("application.yml", new ClassPathResource("application.yml"));
+		properties = new Binder(ConfigurationPropertySources.from(sources))
+				.bind("gateway.auth-policy", Bindable.of(AuthPolicyProperties.class))
+				.orElseThrow(() -> new IllegalStateException("gateway.auth-policy missing"));
+		trie = AuthPolicyTrie.compile(properties);
+	}
+
+	@Test
+	void productByIdPermissionDependsOnMethod() {
+		assertPolicy(HttpMethod.GET, "/products/42", AuthPolicyProperties.Access.AUTHENTICATED, "READ_PRODUCTS");
+		assertPolicy(HttpMethod.DELETE, "/products/42", AuthPolicyProperties.Access.AUTHENTICATED, "DELETE_PRODUCTS");
+		assertPolicy(HttpMethod.PATCH, "/products/42", AuthPolicyProperties.Access.AUTHENTICATED, "WRITE_PRODUCTS");
+		assertPolicy(HttpMethod.PUT, "/products/42", AuthPolicyProperties.Access.AUTHENTICATED, "WRITE_PRODUCTS");
+		assertPolicy(HttpMethod.GET, "/products", AuthPolicyProperties.Access.AUTHENTICATED, "READ_PRODUCTS");
+	}
+
+	@Test
+	void literalRuleBeatsDoubleWildcardPrefix() {
+		assertPolicy(HttpMethod.GET, "/products/health", AuthPolicyProperties.Access.AUTHENTICATED, null);
+		assertPolicy(HttpMethod.GET, "/products/user-info", AuthPolicyProperties.Access.AUTHENTICATED, null);
+		assertPolicy(HttpMethod.GET, "/products/health/deep", AuthPolicyProperties.Access.AUTHENTICATED,
+				"READ_PRODUCTS");
+	}
+
+	@Test
+	void singleSegmentWildcardMatchesUserId() {
+		assertPolicy(HttpMethod.POST, "/api/users/5/roles", AuthPolicyProperties.Access.AUTHENTICATED, "ASSIGN_ROLES");
+		assertPolicy(HttpMethod.GET, "/api/users/5/roles/extra", AuthPolicyProperties.Access.AUTHENTICATED, null);
+		assertPolicy(HttpMethod.GET, "/api/roles/7", AuthPolicyProperties.Access.AUTHENTICATED, "READ_ROLE");
+	}
+
+	@Test
+	void methodWithoutRuleFallsBackToDefault() {
+		assertPolicy(HttpMethod.POST, "/login", AuthPolicyProperties.Access.PUBLIC, null);
+		assertPolicy(HttpMethod.GET, "/login", AuthPolicyProperties.Access.AUTHENTICATED, null);
+		assertPolicy(HttpMethod.OPTIONS, "/products/42", AuthPolicyProperties.Access.AUTHENTICATED, null);
+		assertPolicy(HttpMethod.DELETE, "/api/roles/7", AuthPolicyProperties.Access.AUTHENTICATED, null);
+		assertPolicy(HttpMethod.GET, "/unknown", AuthPolicyProperties.Access.AUTHENTICATED, null);
+	}
+
+	@Test
+	void prefixRuleCoversTheWholeSubtree() {
+		assertPolicy(HttpMethod.POST, "/init/roles", AuthPolicyProperties.Access.PUBLIC, null);
+		assertPolicy(HttpMethod.GET, "/init", AuthPolicyProperties.Access.PUBLIC, null);
+	}
+
+	@Test
+	void trailingAndDuplicateSlashesAreIgnored() {
+		assertPolicy(HttpMethod.POST, "/register/", AuthPolicyProperties.Access.PUBLIC, null);
+		assertPolicy(HttpMethod.DELETE, "//products//42/", AuthPolicyProperties.Access.AUTHENTICATED,
+				"DELETE_PRODUCTS");
+		assertPolicy(HttpMethod.POST, "/api//users/5//roles", AuthPolicyProperties.Access.AUTHENTICATED,
+				"ASSIGN_ROLES");
+	}
+
+	@Test
+	void invalidRuleOnRefreshKeepsPreviousTrie() {
+		AuthPolicyFilter filter = new AuthPolicyFilter(properties,
+				new JwtUtil("mySecretKeyForJWTTokenGenerationAndValidation12345678901234567890"));
+		AuthPolicyProperties.Rule invalid = new AuthPolicyProperties.Rule();
+		invalid.setPath("/register/**/broken");
+		invalid.setAccess(AuthPolicyProperties.Access.AUTHENTICATED);
+		properties.getRules().add(0, invalid);
+
+		filter.recompile();
+		assertThat(register(filter)).isNull();
+
+		invalid.setPath("/register");
+		filter.recompile();
+		assertThat(register(filter)).isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	/**
+	 * Sends an anonymous POST /register through the filter.
+	 * @return the rejection status, or null if the request was forwarded
+	 */
+	private static HttpStatusCode register(AuthPolicyFilter filter) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/register"));
+		AtomicBoolean forwarded = new AtomicBoolean();
+		filter.filter(exchange, e -> {
+			forwarded.set(true);
+			return Mono.empty();
+		}).block();
+		return forwarded.get() ? null : exchange.getResponse().getStatusCode();
+	}
+
+	private void assertPolicy(HttpMethod method, String path, AuthPolicyProperties.Access access, String permission) {
+		assertThat(trie.match(method, path))
+				.as("%s %s", method, path)
+				.isEqualTo(new AuthPolicyTrie.Policy(access, permission));
+	}
+}
@@ -0,0 +1,116 @@
+package com.microservice.gateway.shedding;
+
+import com.microservice.gateway.concurrency.ConcurrencyLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadShedderTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final LoadSheddingProperties properties = new LoadSheddingProperties();
+	private final FakeLagMonitor lagMonitor = new FakeLagMonitor(properties);
+	private final ConcurrencyLimiterRegistry limiters = new ConcurrencyLimiterRegistry(meterRegistry,
+			1, 1, 10, 0.2, 1.5, 0.9, Duration.ofSeconds(1), 10, 100);
+
+	@Test
+	void eachOverloadedEvaluationShedsOneMoreTierLowestFirst() {
+		LoadShedder shedder = shedder();
+		lagMonitor.lagNanos = Duration.ofMillis(200).toNanos();
+
+		shedder.evaluate();
+		assertThat(shedder.getLevel()).isEqualTo(1);
+		assertThat(shedder.shouldShed(Priority.LOW)).isTrue();
+		assertThat(shedder.shouldShed(Priority.NORMAL)).isFalse();
+
+		shedder.evaluate();
+		assertThat(shedder.shouldShed(Priority.NORMAL)).isTrue();
+		assertThat(shedder.shouldShed(Priority.HIGH)).isFalse();
+
+		shedder.evaluate();
+		shedder.evaluate();
+		assertThat(shedder.getLevel()).isEqualTo(3);
+		assertThat(shedder.shouldShed(Priority.HIGH)).isTrue();
+		assertThat(shedder.shouldShed(Priority.CRITICAL)).isFalse();
+		assertThat(meterRegistry.get("gateway.shedding.level").gauge().value()).isEqualTo(3);
+	}
+
+	@Test
+	void longUpstreamQueuesCountAsOverload() {
+		LoadShedder shedder = shedder();
+		limiters.get("product-service").acquire(10, Duration.ZERO).block();
+		limiters.get("product-service").acquire(10, Duration.ofMinutes(1)).subscribe();
+
+		shedder.evaluate();
+
+		assertThat(shedder.getLevel()).isEqualTo(1);
+	}
+
+	@Test
+	void levelHoldsUntilHealthyForTheRecoveryInterval() {
+		properties.setRecoveryInterval(Duration.ofHours(1));
+		LoadShedder shedder = shedder();
+		lagMonitor.lagNanos = Duration.ofMillis(200).toNanos();
+		shedder.evaluate();
+
+		lagMonitor.lagNanos = 0;
+		shedder.evaluate();
+		shedder.evaluate();
+
+		assertThat(shedder.getLevel()).isEqualTo(1);
+		assertThat(shedder.shouldShed(Priority.LOW)).isTrue();
+	}
+
+	@Test
+	void recoveryRestoresOneTierPerInterval() {
+		properties.setRecoveryInterval(Duration.ZERO);
+		LoadShedder shedder = shedder();
+		lagMonitor.lagNanos = Duration.ofMillis(200).toNanos();
+		shedder.evaluate();
+		shedder.evaluate();
+		shedder.evaluate();
+
+		lagMonitor.lagNanos = 0;
+		shedder.evaluate();
+		assertThat(shedder.getLevel()).isEqualTo(2);
+		assertThat(shedder.shouldShed(Priority.HIGH)).isFalse();
+		assertThat(shedder.shouldShed(Priority.NORMAL)).isTrue();
+
+		shedder.evaluate();
+		shedder.evaluate();
+		shedder.evaluate();
+		assertThat(shedder.getLevel()).isZero();
+		assertThat(shedder.shouldShed(Priority.LOW)).isFalse();
+	}
+
+	@Test
+	void disabledSheddingRejectsNothing() {
+		properties.setEnabled(false);
+		LoadShedder shedder = shedder();
+		lagMonitor.lagNanos = Duration.ofMillis(200).toNanos();
+		shedder.evaluate();
+
+		assertThat(shedder.shouldShed(Priority.LOW)).isFalse();
+	}
+
+	private LoadShedder shedder() {
+		return new LoadShedder(properties, lagMonitor, limiters, meterRegistry);
+	}
+
+	private static class FakeLagMonitor extends EventLoopLagMonitor {
+
+		private long lagNanos;
+
+		FakeLagMonitor(LoadSheddingProperties properties) {
+			super(properties);
+		}
+
+		@Override
+		public long maxLagNanos() {
+			return lagNanos;
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.microservice.gateway.timing;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingFilterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RequestTimingFilter filter = new RequestTimingFilter(new GatewayTimingMetrics(meterRegistry), false);
+
+	@Test
+	void phasesOfAnUnhedgedRequestAreTaggedPrimary() {
+		MockServerWebExchange exchange = routedExchange();
+
+		filter.filter(exchange, upstream(timings -> {
+			timings.markRouting();
+			timings.markRequestSent();
+			timings.markResponse();
+		})).block();
+
+		assertThat(phase("connect", "primary").count()).isEqualTo(1);
+		assertThat(phase("upstream", "primary").count()).isEqualTo(1);
+		assertThat(meterRegistry.find("gateway.request.phase").tag("attempt", "hedge").timers()).isEmpty();
+	}
+
+	@Test
+	void phasesOfAWinningHedgeComeFromTheHedgeAloneAndAreTaggedHedge() {
+		MockServerWebExchange exchange = routedExchange();
+		RequestTimings primary = new RequestTimings();
+		RequestTimings hedge = new RequestTimings();
+
+		filter.filter(exchange, upstream(timings -> {
+			timings.markRouting();
+			primary.markRouting();
+			primary.markRequestSent();
+			hedge.markRouting();
+			hedge.markRequestSent();
+			hedge.markResponse();
+			timings.adopt(hedge, true);
+		})).block();
+
+		assertThat(phase("connect", "hedge").count()).isEqualTo(1);
+		assertThat(phase("upstream", "hedge").count()).isEqualTo(1);
+		assertThat(phase("upstream", "hedge").totalTime(TimeUnit.NANOSECONDS))
+				.isEqualTo(hedge.upstreamNanos());
+		assertThat(meterRegistry.find("gateway.request.phase").tag("attempt", "primary").timers()).isEmpty();
+	}
+
+	@Test
+	void totalLatencyPublishesAHistogramWithoutClientSidePercentiles() {
+		PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+		RequestTimingFilter prometheusFilter = new RequestTimingFilter(new GatewayTimingMetrics(prometheus), false);
+
+		prometheusFilter.filter(routedExchange(), upstream(timings -> {
+			timings.markRouting();
+			timings.markRequestSent();
+			timings.markResponse();
+		})).block();
+
+		String scrape = prometheus.scrape();
+		assertThat(scrape).contains("gateway_request_latency_seconds_bucket{");
+		assertThat(scrape).doesNotContain("quantile=");
+	}
+
+	private Timer phase(String phase, String attempt) {
+		return meterRegistry.get("gateway.request.phase")
+				.tags("route", "products", "phase", phase, "attempt", attempt)
+				.timer();
+	}
+
+	private static MockServerWebExchange routedExchange() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/products/1"));
+		Route route = Route.async()
+				.id("products")
+				.uri("lb://product-service")
+				.predicate(e -> true)
+				.build();
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+				URI.create("http://10.0.0.1:8082/products/1"));
+		return exchange;
+	}
+
+	private static GatewayFilterChain upstream(Consumer<RequestTimings> marks) {
+		return exchange -> {
+			marks.accept(exchange.getAttribute(RequestTimings.ATTRIBUTE));
+			exchange.getResponse().setStatusCode(HttpStatus.OK);
+			return Mono.empty();
+		};
+	}
+}
@@ -0,0 +1,88 @@
+package com.microservice.auth.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections
+ * everywhere else. A read-only transaction falls back to the primary when no replica is
+ * usable or the chosen replica refuses the connection.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: JpaTransactionManager asks for the
+ * connection before the transaction is marked read-only, the proxy defers that until the
+ * first statement.
+ * Same as ReadWriteRoutingDataSource in product-service; change both together.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final ReplicaSelector replicaSelector;
+    private final MeterRegistry meterRegistry;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, ReplicaSelector replicaSelector,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicaSelector = replicaSelector;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(username, password);
+    }
+
+    private Connection route(String username, String password) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            count(PRIMARY, "read-write");
+            return connect(primary, username, password);
+        }
+        if (replicaSelector.hasReplicas()) {
+            ReplicaSelector.Replica replica = replicaSelector.choose();
+            if (replica == null) {
+                fallback("no-usable-replica");
+            } else {
+                try {
+                    Connection connection = connect(replica.getDataSource(), username, password);
+                    count(replica.getName(), "read-only");
+                    return connection;
+                } catch (SQLException e) {
+                    replicaSelector.markUnavailable(replica, e);
+                    fallback("connection-failed");
+                }
+            }
+        }
+        count(PRIMARY, "read-only");
+        return connect(primary, username, password);
+    }
+
+    private static Connection connect(HikariDataSource dataSource, String username, String password)
+            throws SQLException {
+        return username != null ? dataSource.getConnection(username, password) : dataSource.getConnection();
+    }
+
+    private void count(String target, String transaction) {
+        meterRegistry.counter("datasource.routing.connections", "target", target, "transaction", transaction)
+                .increment();
+    }
+
+    private void fallback(String reason) {
+        meterRegistry.counter("datasource.routing.fallbacks", "reason", reason).increment();
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.microservice.auth.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas of the spring.datasource primary. With no replicas configured every
+ * transaction uses the primary.
+ * Same as ReplicaProperties in product-service; change both together.
+ */
+@Data
+@ConfigurationProperties(prefix = "auth.datasource")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replicas further behind the primary than this are skipped.
+     */
+    private long maxLagMs = 1000;
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        /**
+         * Query whose first column is the replication lag in seconds, NULL if replication
+         * is stopped. Empty means MySQL's SHOW REPLICA STATUS.
+         */
+        private String lagQuery;
+    }
+}
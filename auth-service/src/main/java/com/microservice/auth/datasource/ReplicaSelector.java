@@ -0,0 +1,134 @@
+package com.microservice.auth.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the replication lag of each replica and picks the replica for the next read-only
+ * transaction: round robin over the replicas that answered the last lag check and are
+ * within max-lag-ms. A replica whose connection fails is skipped until the next check
+ * succeeds.
+ * Same as ReplicaSelector in product-service; change both together.
+ */
+@Slf4j
+public class ReplicaSelector implements AutoCloseable {
+
+    private static final String MYSQL_LAG_QUERY = "SHOW REPLICA STATUS";
+
+    public static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final String lagQuery;
+        private volatile long lagMs = -1;
+        private volatile boolean available;
+
+        public Replica(String name, HikariDataSource dataSource, String lagQuery) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.lagQuery = lagQuery;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HikariDataSource getDataSource() {
+            return dataSource;
+        }
+    }
+
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSelector(List<Replica> replicas, long maxLagMs, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.maxLagMs = maxLagMs;
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagMs)
+                    .tag("target", replica.name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .tag("target", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    /**
+     * The next usable replica, or null if every replica is unavailable or lagging.
+     */
+    public Replica choose() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available && replica.lagMs <= maxLagMs) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public void markUnavailable(Replica replica, SQLException e) {
+        if (replica.available) {
+            log.warn("Replica '{}' is unavailable, routing its reads to the primary: {}", replica.name, e.getMessage());
+        }
+        replica.available = false;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.datasource.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            boolean customQuery = StringUtils.hasText(replica.lagQuery);
+            String query = customQuery ? replica.lagQuery : MYSQL_LAG_QUERY;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(query)) {
+                Double lagSeconds = result.next() ? readLag(result, customQuery) : null;
+                if (lagSeconds == null) {
+                    if (replica.available) {
+                        log.warn("Replica '{}' reports no running replication, routing its reads to the primary",
+                                replica.name);
+                    }
+                    replica.available = false;
+                    continue;
+                }
+                replica.lagMs = (long) (lagSeconds * 1000);
+                replica.available = true;
+            } catch (SQLException e) {
+                markUnavailable(replica, e);
+            }
+        }
+    }
+
+    private static Double readLag(ResultSet result, boolean customQuery) throws SQLException {
+        double lag = customQuery ? result.getDouble(1) : result.getDouble("Seconds_Behind_Source");
+        return result.wasNull() ? null : lag;
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+}
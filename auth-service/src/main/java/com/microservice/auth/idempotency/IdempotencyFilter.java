@@ -0,0 +1,201 @@
+package com.microservice.auth.idempotency;
+
+import com.microservice.auth.security.AuthenticationService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Makes POSTs carrying an Idempotency-Key safe to retry. The first request with a key runs
+ * normally and its response is recorded; a retry with the same key and body gets the
+ * recorded response back without the handler running again, and a retry arriving while
+ * the first is still running waits for it. Keys are scoped per user, or per client address
+ * for anonymous callers such as /register, and reusing a key with a different body is
+ * rejected with 422. 5xx responses are not recorded, so the client may retry those.
+ * Same as IdempotencyFilter in product-service; change both together.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final AuthenticationService authenticationService;
+
+    @Value("${auth.idempotency.paths:/register}")
+    private List<String> paths;
+
+    @Value("${auth.idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !paths.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid Idempotency-Key header");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String userId = authenticationService.getCurrentUserId();
+        String scope = userId != null ? userId : "anonymous@" + clientAddress(request);
+        String key = scope + ":" + request.getServletPath() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(cachedRequest.body);
+
+        IdempotencyStore.Claim claim = idempotencyStore.claim(key, fingerprint);
+        if (claim.state() == IdempotencyStore.State.IN_PROGRESS) {
+            claim = idempotencyStore.await(key, fingerprint, Duration.ofMillis(waitTimeoutMs));
+        }
+
+        switch (claim.state()) {
+            case ACQUIRED -> execute(key, cachedRequest, response, filterChain);
+            case COMPLETED -> replay(response, claim.response());
+            case MISMATCH -> response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    "Idempotency-Key was already used for a different request");
+            case IN_PROGRESS -> response.sendError(HttpStatus.CONFLICT.value(),
+                    "A request with this Idempotency-Key is still being processed");
+        }
+    }
+
+    private void execute(String key, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper capturing = new ContentCachingResponseWrapper(response);
+        boolean recorded = false;
+        try {
+            filterChain.doFilter(request, capturing);
+            if (capturing.getStatus() < 500) {
+                idempotencyStore.complete(key, new IdempotencyStore.StoredResponse(
+                        capturing.getStatus(), capturing.getContentType(), capturing.getContentAsByteArray()));
+                recorded = true;
+            }
+        } finally {
+            if (!recorded) {
+                idempotencyStore.release(key);
+            }
+            capturing.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyStore.StoredResponse stored) throws IOException {
+        log.debug("Replaying stored response for Idempotency-Key");
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    /**
+     * The address the gateway saw the client connect from, which it appends to
+     * X-Forwarded-For; earlier entries come from the client and are not trusted.
+     */
+    private String clientAddress(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            String[] hops = forwardedFor.split(",");
+            return hops[hops.length - 1].trim();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Reads the body up front so it can be fingerprinted and still be read by the handler.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.microservice.auth.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Bounded per-instance store. Entries are kept in insertion order, which with a fixed TTL
+ * is also expiry order, so expired and overflowing entries are dropped from the head.
+ * Duplicates waiting on an in-flight request block on its future.
+ * Same as InMemoryIdempotencyStore in product-service; change both together.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    @Value("${auth.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${auth.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final long expiresAtNanos;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        Entry(String fingerprint, long expiresAtNanos) {
+            this.fingerprint = fingerprint;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    @Override
+    public synchronized Claim claim(String key, String fingerprint) {
+        long now = System.nanoTime();
+        evict(now);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entries.put(key, new Entry(fingerprint, now + TimeUnit.HOURS.toNanos(ttlHours)));
+            return Claim.of(State.ACQUIRED);
+        }
+        if (!entry.fingerprint.equals(fingerprint)) {
+            return Claim.of(State.MISMATCH);
+        }
+        return entry.result.isDone() ? Claim.completed(entry.result.getNow(null)) : Claim.of(State.IN_PROGRESS);
+    }
+
+    @Override
+    public Claim await(String key, String fingerprint, Duration timeout) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            return claim(key, fingerprint);
+        }
+        try {
+            StoredResponse response = entry.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return response != null ? Claim.completed(response) : claim(key, fingerprint);
+        } catch (TimeoutException e) {
+            return Claim.of(State.IN_PROGRESS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Claim.of(State.IN_PROGRESS);
+        } catch (ExecutionException e) {
+            return claim(key, fingerprint);
+        }
+    }
+
+    @Override
+    public synchronized void complete(String key, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.result.complete(response);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.remove(key);
+        }
+        if (entry != null) {
+            entry.result.complete(null);
+        }
+    }
+
+    private void evict(long now) {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (eldest.hasNext()) {
+            Entry entry = eldest.next().getValue();
+            if (entries.size() < maxEntries && entry.expiresAtNanos - now > 0) {
+                break;
+            }
+            eldest.remove();
+            // Waiters on an evicted in-flight entry go on to run their own request
+            entry.result.complete(null);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.microservice.auth.idempotency;
+
+import com.microservice.auth.entity.IdempotencyRecord;
+import com.microservice.auth.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Database-backed store for running several instances behind the gateway. The primary key
+ * on the Idempotency-Key decides which instance runs the request; duplicates on other
+ * instances poll the row until it has a response. Rows left pending longer than the lock
+ * timeout, e.g. by an instance that died mid-request, can be taken over.
+ * Same as JpaIdempotencyStore in product-service; change both together.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.idempotency.store", havingValue = "database")
+@RequiredArgsConstructor
+@Slf4j
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Value("${auth.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${auth.idempotency.lock-timeout-ms:60000}")
+    private long lockTimeoutMs;
+
+    @Override
+    public Claim claim(String key, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                    .id(key)
+                    .fingerprint(fingerprint)
+                    .createdAt(now)
+                    .expiresAt(now.plusHours(ttlHours))
+                    .build());
+            return Claim.of(State.ACQUIRED);
+        } catch (DataIntegrityViolationException e) {
+            return idempotencyRecordRepository.findById(key)
+                    .map(existing -> toClaim(existing, fingerprint))
+                    .orElse(Claim.of(State.IN_PROGRESS));
+        }
+    }
+
+    @Override
+    public Claim await(String key, String fingerprint, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(key);
+            if (existing.isEmpty()) {
+                return claim(key, fingerprint);
+            }
+            Claim claim = toClaim(existing.get(), fingerprint);
+            if (claim.state() != State.IN_PROGRESS) {
+                return claim;
+            }
+            if (takeOverIfStale(existing.get())) {
+                return claim(key, fingerprint);
+            }
+        }
+        return Claim.of(State.IN_PROGRESS);
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        idempotencyRecordRepository.findById(key).ifPresent(record -> {
+            record.setStatus(response.status());
+            record.setContentType(response.contentType());
+            record.setBody(response.body());
+            idempotencyRecordRepository.save(record);
+        });
+    }
+
+    @Override
+    public void release(String key) {
+        idempotencyRecordRepository.deleteById(key);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.idempotency.prune-interval-ms:600000}")
+    @Transactional
+    public void pruneExpired() {
+        int removed = idempotencyRecordRepository.deleteByExpiresAtBefore(LocalDateTime.now());
+        if (removed > 0) {
+            log.debug("Pruned {} expired idempotency records", removed);
+        }
+    }
+
+    private Claim toClaim(IdempotencyRecord record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            return Claim.of(State.MISMATCH);
+        }
+        if (record.getStatus() == null) {
+            return Claim.of(State.IN_PROGRESS);
+        }
+        return Claim.completed(new StoredResponse(record.getStatus(), record.getContentType(), record.getBody()));
+    }
+
+    private boolean takeOverIfStale(IdempotencyRecord record) {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(lockTimeoutMs * 1_000_000);
+        if (record.getCreatedAt().isAfter(cutoff)) {
+            return false;
+        }
+        return idempotencyRecordRepository.deleteStalePending(record.getId(), cutoff) > 0;
+    }
+}
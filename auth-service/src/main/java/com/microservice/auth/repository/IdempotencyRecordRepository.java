@@ -0,0 +1,35 @@
+package com.microservice.auth.repository;
+
+import com.microservice.auth.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Same as IdempotencyRecordRepository in product-service; change both together.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Read-write so it is routed to the primary: claims and their responses must be seen
+     * as soon as they commit, not after a replica catches up.
+     */
+    @Override
+    @Transactional
+    Optional<IdempotencyRecord> findById(String id);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :cutoff")
+    int deleteByExpiresAtBefore(LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.status IS NULL AND r.createdAt < :cutoff")
+    int deleteStalePending(String id, LocalDateTime cutoff);
+}
@@ -0,0 +1,63 @@
+package com.microservice.auth.warmup;
+
+import com.microservice.auth.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Exercises the login and token paths before real traffic: BCrypt hashing and matching,
+ * token and claim building, then synthetic authenticated requests against read-only
+ * endpoints so JWT verification, the permission aspect and JSON serialization are loaded
+ * and compiled.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class LoginPathWarmupTask implements WarmupTask {
+
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtil jwtUtil;
+    private final Environment environment;
+
+    @Value("${auth.warmup.iterations:200}")
+    private int iterations;
+
+    @Value("${auth.warmup.bcrypt-iterations:3}")
+    private int bcryptIterations;
+
+    @Override
+    public String name() {
+        return "login-path";
+    }
+
+    @Override
+    public void run() {
+        String hash = passwordEncoder.encode("warm-up-password");
+        for (int i = 0; i < bcryptIterations; i++) {
+            passwordEncoder.matches("warm-up-password", hash);
+        }
+
+        String token = null;
+        for (int i = 0; i < iterations; i++) {
+            token = jwtUtil.generateToken(0L, "warmup@localhost", "Warm-up", "USER", "READ_ROLE,READ_PERMISSION");
+            Claims claims = jwtUtil.extractClaims(token);
+            claims.get("permissions", String.class);
+        }
+
+        RestClient client = RestClient.builder()
+                .baseUrl("http://localhost:" + environment.getProperty("local.server.port"))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build();
+        for (int i = 0; i < iterations; i++) {
+            client.get().uri("/user-info").retrieve().toBodilessEntity();
+            client.get().uri("/api/roles").retrieve().toBodilessEntity();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.microservice.auth.warmup;
+
+/**
+ * A unit of startup warm-up run by {@link WarmupRunner} before the instance is marked UP.
+ * Same as WarmupTask in product-service; change both together.
+ */
+public interface WarmupTask {
+
+    String name();
+
+    void run() throws Exception;
+}
@@ -0,0 +1,147 @@
+package com.microservice.auth.idempotency;
+
+import com.microservice.auth.security.AuthenticationService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTests {
+
+	private IdempotencyFilter filter;
+	private final AtomicInteger calls = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+		ReflectionTestUtils.setField(store, "maxEntries", 100);
+		ReflectionTestUtils.setField(store, "ttlHours", 1L);
+		filter = new IdempotencyFilter(store, new AuthenticationService());
+		ReflectionTestUtils.setField(filter, "paths", List.of("/register"));
+		ReflectionTestUtils.setField(filter, "waitTimeoutMs", 5000L);
+	}
+
+	@Test
+	void retryWithTheSameKeyAndBodyReplaysTheRecordedResponse() throws Exception {
+		MockHttpServletResponse first = send(register("key-1", "alice", "10.0.0.1"), echo(201));
+		MockHttpServletResponse retry = send(register("key-1", "alice", "10.0.0.1"), echo(201));
+
+		assertThat(calls).hasValue(1);
+		assertThat(first.getStatus()).isEqualTo(201);
+		assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+		assertThat(retry.getStatus()).isEqualTo(201);
+		assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+		assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+	}
+
+	@Test
+	void reusingAKeyForADifferentBodyIsRejected() throws Exception {
+		send(register("key-1", "alice", "10.0.0.1"), echo(201));
+		MockHttpServletResponse reused = send(register("key-1", "bob", "10.0.0.1"), echo(201));
+
+		assertThat(calls).hasValue(1);
+		assertThat(reused.getStatus()).isEqualTo(422);
+	}
+
+	@Test
+	void duplicateWaitsForTheInFlightRequestAndGetsItsResponse() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		FilterChain slow = (request, response) -> {
+			started.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			echo(201).doFilter(request, response);
+		};
+
+		CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(
+				() -> sendUnchecked(register("key-1", "alice", "10.0.0.1"), slow));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(
+				() -> sendUnchecked(register("key-1", "alice", "10.0.0.1"), slow));
+		Thread.sleep(100);
+		assertThat(duplicate).isNotDone();
+		release.countDown();
+
+		assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+		MockHttpServletResponse waited = duplicate.get(5, TimeUnit.SECONDS);
+		assertThat(calls).hasValue(1);
+		assertThat(waited.getStatus()).isEqualTo(201);
+		assertThat(waited.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+	}
+
+	@Test
+	void serverErrorsAreNotRecordedSoTheRetryRunsAgain() throws Exception {
+		MockHttpServletResponse failed = send(register("key-1", "alice", "10.0.0.1"), echo(503));
+		MockHttpServletResponse retry = send(register("key-1", "alice", "10.0.0.1"), echo(201));
+
+		assertThat(calls).hasValue(2);
+		assertThat(failed.getStatus()).isEqualTo(503);
+		assertThat(retry.getStatus()).isEqualTo(201);
+		assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+	}
+
+	@Test
+	void anonymousKeysAreScopedByTheClientAddressTheGatewaySaw() throws Exception {
+		send(register("key-1", "alice", "10.0.0.1"), echo(201));
+		MockHttpServletResponse otherClient = send(register("key-1", "bob", "10.0.0.2"), echo(201));
+		MockHttpServletResponse spoofed = send(register("key-1", "carol", "10.0.0.9, 10.0.0.1"), echo(201));
+
+		assertThat(otherClient.getStatus()).isEqualTo(201);
+		assertThat(otherClient.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+		assertThat(spoofed.getStatus()).isEqualTo(422);
+		assertThat(calls).hasValue(2);
+	}
+
+	private MockHttpServletRequest register(String idempotencyKey, String name, String forwardedFor) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/register");
+		request.setServletPath("/register");
+		request.setRemoteAddr("172.16.0.10");
+		request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+		request.addHeader("X-Forwarded-For", forwardedFor);
+		request.setContentType("application/json");
+		request.setContent(("{\"name\":\"" + name + "\"}").getBytes(StandardCharsets.UTF_8));
+		return request;
+	}
+
+	private FilterChain echo(int status) {
+		return (request, response) -> {
+			calls.incrementAndGet();
+			String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+			HttpServletResponse httpResponse = (HttpServletResponse) response;
+			httpResponse.setStatus(status);
+			httpResponse.setContentType("application/json");
+			httpResponse.getWriter().write("{\"call\":" + calls.get() + ",\"request\":" + body + "}");
+		};
+	}
+
+	private MockHttpServletResponse send(MockHttpServletRequest request, FilterChain chain) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+
+	private MockHttpServletResponse sendUnchecked(MockHttpServletRequest request, FilterChain chain) {
+		try {
+			return send(request, chain);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package com.microservice.product.cache;
+
+import com.microservice.product.dto.ProductChangeResponse;
+import com.microservice.product.dto.ProductResponse;
+import com.microservice.product.entity.ChangeType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory mirror of the product catalog with a category index.
+ * Populated from a snapshot or a full DB scan and then kept current by
+ * replaying the change feed; reads fall back to the DB until it is warm.
+ * This instance's own writes are applied as soon as they commit, ahead of the feed.
+ * Writers are serialized, readers are lock-free.
+ */
+@Component
+public class ProductCache {
+
+    private static final Comparator<ProductResponse> BY_ID = Comparator.comparing(ProductResponse::getId);
+
+    private final Map<Long, ProductResponse> products = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> idsByCategory = new ConcurrentHashMap<>();
+    // Cursor of the newest committed change applied ahead of the feed, per product
+    private final Map<Long, Long> aheadOfFeed = new HashMap<>();
+    private volatile long cursor;
+    private volatile boolean warm;
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Change-feed position the cache reflects.
+     */
+    public long getCursor() {
+        return cursor;
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    public Optional<ProductResponse> get(Long id) {
+        return Optional.ofNullable(products.get(id));
+    }
+
+    public List<ProductResponse> getAll() {
+        List<ProductResponse> result = new ArrayList<>(products.values());
+        result.sort(BY_ID);
+        return result;
+    }
+
+    public List<ProductResponse> getByCategory(String category) {
+        Set<Long> ids = idsByCategory.get(category);
+        if (ids == null) {
+            return List.of();
+        }
+        List<ProductResponse> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductResponse product = products.get(id);
+            if (product != null) {
+                result.add(product);
+            }
+        }
+        result.sort(BY_ID);
+        return result;
+    }
+
+    /**
+     * Clears the cache ahead of a full reload; reads go to the DB until {@link #markWarm}.
+     */
+    public synchronized void reset() {
+        warm = false;
+        products.clear();
+        idsByCategory.clear();
+        aheadOfFeed.clear();
+        cursor = 0;
+    }
+
+    public synchronized void put(ProductResponse product) {
+        ProductResponse previous = products.put(product.getId(), product);
+        if (previous != null && !Objects.equals(previous.getCategory(), product.getCategory())) {
+            unindex(previous);
+        }
+        if (product.getCategory() != null) {
+            idsByCategory.computeIfAbsent(product.getCategory(), c -> ConcurrentHashMap.newKeySet())
+                    .add(product.getId());
+        }
+    }
+
+    public synchronized void markWarm(long cursor) {
+        this.cursor = cursor;
+        this.warm = true;
+    }
+
+    /**
+     * Applies one change-feed entry. Entries at or before the current cursor are ignored,
+     * as are entries older than a change already applied by {@link #applyCommitted}.
+     */
+    public synchronized void apply(ProductChangeResponse change) {
+        if (change.getCursor() <= cursor) {
+            return;
+        }
+        Long ahead = aheadOfFeed.get(change.getProductId());
+        if (ahead != null && change.getCursor() >= ahead) {
+            aheadOfFeed.remove(change.getProductId());
+        }
+        if (ahead == null || change.getCursor() >= ahead) {
+            applyToProducts(change);
+        }
+        cursor = change.getCursor();
+    }
+
+    /**
+     * Applies changes this instance has just committed, so its own reads see them before
+     * the next feed poll. The cursor stays put: earlier changes from other instances are
+     * still replayed, and the feed reapplies these entries when it reaches them.
+     */
+    public synchronized void applyCommitted(List<ProductChangeResponse> changes) {
+        if (!warm) {
+            return;
+        }
+        for (ProductChangeResponse change : changes) {
+            if (change.getCursor() == null || change.getCursor() <= cursor) {
+                continue;
+            }
+            Long ahead = aheadOfFeed.get(change.getProductId());
+            if (ahead == null || change.getCursor() > ahead) {
+                aheadOfFeed.put(change.getProductId(), change.getCursor());
+                applyToProducts(change);
+            }
+        }
+    }
+
+    private void applyToProducts(ProductChangeResponse change) {
+        if (change.getChangeType() == ChangeType.DELETED) {
+            ProductResponse removed = products.remove(change.getProductId());
+            if (removed != null) {
+                unindex(removed);
+            }
+        } else if (change.getProduct() != null) {
+            put(change.getProduct());
+        }
+    }
+
+    private void unindex(ProductResponse product) {
+        if (product.getCategory() == null) {
+            return;
+        }
+        Set<Long> ids = idsByCategory.get(product.getCategory());
+        if (ids != null) {
+            ids.remove(product.getId());
+            if (ids.isEmpty()) {
+                idsByCategory.remove(product.getCategory());
+            }
+        }
+    }
+}
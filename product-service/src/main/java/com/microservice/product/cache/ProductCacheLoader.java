@@ -0,0 +1,159 @@
+package com.microservice.product.cache;
+
+import com.microservice.product.dto.ProductChangeBatch;
+import com.microservice.product.dto.ProductChangeResponse;
+import com.microservice.product.dto.ProductResponse;
+import com.microservice.product.repository.ProductChangeRepository;
+import com.microservice.product.service.ProductChangeService;
+import com.microservice.product.service.ProductService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Warms {@link ProductCache} at startup and keeps it current.
+ *
+ * A snapshot written by a previous run is loaded and only the changes recorded
+ * since its cursor are replayed. Without a usable snapshot the catalog is read
+ * once in id order. Afterwards the change feed is tailed on a fixed delay and
+ * a fresh snapshot is written periodically and on shutdown.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCacheLoader {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final int REPLAY_BATCH_SIZE = 500;
+
+    private final ProductCache productCache;
+    private final ProductSnapshotStore productSnapshotStore;
+    private final ProductService productService;
+    private final ProductChangeService productChangeService;
+    private final ProductChangeRepository productChangeRepository;
+
+    @Value("${product.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${product.cache.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${product.change-feed.retention-hours:72}")
+    private long retentionHours;
+
+    @Value("${product.change-feed.gap-grace-ms:5000}")
+    private long gapGraceMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled || productCache.isWarm()) {
+            return;
+        }
+        long started = System.nanoTime();
+        String source = loadSnapshot() ? "snapshot" : "database";
+        if (!productCache.isWarm()) {
+            loadFromDatabase();
+        }
+        long replayed = replayChanges();
+        log.info("Product cache warmed from {} with {} products ({} changes replayed) in {} ms",
+                source, productCache.size(), replayed, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${product.cache.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (productCache.isWarm()) {
+            replayChanges();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.cache.snapshot.interval-ms:300000}",
+            initialDelayString = "${product.cache.snapshot.interval-ms:300000}")
+    public void writeSnapshot() {
+        if (!snapshotEnabled || !productCache.isWarm()) {
+            return;
+        }
+        // Read the cursor first: anything applied while copying is replayed again on load,
+        // which is harmless because change entries carry the full product state.
+        long cursor = productCache.getCursor();
+        List<ProductResponse> products = productCache.getAll();
+        try {
+            productSnapshotStore.write(cursor, products);
+            log.debug("Wrote product snapshot with {} products at cursor {}", products.size(), cursor);
+        } catch (IOException e) {
+            log.warn("Failed to write product snapshot", e);
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        writeSnapshot();
+    }
+
+    private boolean loadSnapshot() {
+        if (!snapshotEnabled) {
+            return false;
+        }
+        Optional<ProductSnapshotStore.Snapshot> snapshot = productSnapshotStore.read();
+        if (snapshot.isEmpty()) {
+            return false;
+        }
+        ProductSnapshotStore.Snapshot loaded = snapshot.get();
+        // Changes older than the retention window may already be pruned and could not be replayed
+        if (loaded.createdAt().isBefore(Instant.now().minus(Duration.ofHours(retentionHours)))) {
+            log.info("Product snapshot from {} is older than the change-feed retention, ignoring it", loaded.createdAt());
+            return false;
+        }
+        if (loaded.cursor() > productChangeRepository.findLatestId()) {
+            log.info("Product snapshot cursor {} is ahead of the change feed, ignoring it", loaded.cursor());
+            return false;
+        }
+        productCache.reset();
+        loaded.products().forEach(productCache::put);
+        productCache.markWarm(loaded.cursor());
+        return true;
+    }
+
+    private void loadFromDatabase() {
+        // Start replay slightly behind the head so transactions still in flight
+        // during the scan are not skipped
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(gapGraceMs * 1_000_000);
+        long cursor = productChangeRepository.findLatestIdBefore(settledBefore);
+
+        productCache.reset();
+        long lastId = 0;
+        List<ProductResponse> page;
+        do {
+            page = productService.getProductsAfter(lastId, LOAD_PAGE_SIZE);
+            page.forEach(productCache::put);
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        productCache.markWarm(cursor);
+    }
+
+    private long replayChanges() {
+        long applied = 0;
+        ProductChangeBatch batch;
+        do {
+            batch = productChangeService.getChanges(productCache.getCursor(), REPLAY_BATCH_SIZE);
+            for (ProductChangeResponse change : batch.getChanges()) {
+                productCache.apply(change);
+            }
+            applied += batch.getChanges().size();
+        } while (batch.isHasMore());
+        return applied;
+    }
+}
@@ -0,0 +1,210 @@
+package com.microservice.product.cache;
+
+import com.microservice.product.dto.ProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes the binary catalog snapshot used to warm {@link ProductCache}.
+ *
+ * Layout (big-endian): magic, format version, change-feed cursor, creation time,
+ * product count, the products, then a CRC32 of everything before it.
+ * Files are written to a temp sibling and atomically moved into place, and read
+ * back through a memory-mapped channel.
+ */
+@Component
+@Slf4j
+public class ProductSnapshotStore {
+
+    private static final int MAGIC = 0x50534E50;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4;
+    private static final int CHECKSUM_BYTES = 8;
+
+    private final Path file;
+
+    public ProductSnapshotStore(@Value("${product.cache.snapshot.path}") String path) {
+        this.file = Paths.get(path);
+    }
+
+    public record Snapshot(long cursor, Instant createdAt, List<ProductResponse> products) {
+    }
+
+    public void write(long cursor, Collection<ProductResponse> products) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(1024, products.size() * 128));
+        CRC32 crc = new CRC32();
+        DataOutputStream out = new DataOutputStream(new CheckedOutputStream(bytes, crc));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(cursor);
+        out.writeLong(System.currentTimeMillis());
+        out.writeInt(products.size());
+        for (ProductResponse product : products) {
+            writeProduct(out, product);
+        }
+        out.flush();
+        new DataOutputStream(bytes).writeLong(crc.getValue());
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the snapshot, or empty if there is none or it is unreadable
+     */
+    public Optional<Snapshot> read() {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + CHECKSUM_BYTES || size > Integer.MAX_VALUE) {
+                log.warn("Ignoring product snapshot {} with unexpected size {}", file, size);
+                return Optional.empty();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int contentBytes = (int) size - CHECKSUM_BYTES;
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, contentBytes));
+            if (crc.getValue() != buffer.getLong(contentBytes)) {
+                log.warn("Ignoring product snapshot {} with bad checksum", file);
+                return Optional.empty();
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                log.warn("Ignoring product snapshot {} with unknown format", file);
+                return Optional.empty();
+            }
+            long cursor = buffer.getLong();
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            int count = buffer.getInt();
+            List<ProductResponse> products = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                products.add(readProduct(buffer));
+            }
+            return Optional.of(new Snapshot(cursor, createdAt, products));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read product snapshot {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    private void writeProduct(DataOutputStream out, ProductResponse product) throws IOException {
+        out.writeLong(product.getId());
+        writeString(out, product.getName());
+        writeString(out, product.getDescription());
+        writeDecimal(out, product.getPrice());
+        out.writeInt(product.getStock() != null ? product.getStock() : 0);
+        writeString(out, product.getCategory());
+        writeDateTime(out, product.getCreatedAt());
+        writeDateTime(out, product.getUpdatedAt());
+        writeString(out, product.getCreatedBy());
+    }
+
+    private ProductResponse readProduct(ByteBuffer buffer) {
+        return ProductResponse.builder()
+                .id(buffer.getLong())
+                .name(readString(buffer))
+                .description(readString(buffer))
+                .price(readDecimal(buffer))
+                .stock(buffer.getInt())
+                .category(readString(buffer))
+                .createdAt(readDateTime(buffer))
+                .updatedAt(readDateTime(buffer))
+                .createdBy(readString(buffer))
+                .build();
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(unscaled.length);
+        out.write(unscaled);
+        out.writeInt(value.scale());
+    }
+
+    private BigDecimal readDecimal(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[length];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), buffer.getInt());
+    }
+
+    private void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private LocalDateTime readDateTime(ByteBuffer buffer) {
+        if (buffer.get() == 0) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -1,18 +1,32 @@
 package com.microservice.product.controller;
 
+import com.microservice.product.dto.BulkOperation;
+import com.microservice.product.dto.BulkProductRequest;
+import com.microservice.product.dto.BulkUpdateResponse;
+import com.microservice.product.dto.PriceAdjustmentRequest;
+import com.microservice.product.dto.ProductChangeBatch;
+import com.microservice.product.dto.ProductCursorPage;
+import com.microservice.product.dto.ProductPageResponse;
 import com.microservice.product.dto.ProductRequest;
 import com.microservice.product.dto.ProductResponse;
+import com.microservice.product.dto.StockAdjustmentRequest;
 import com.microservice.product.security.AuthenticationService;
 import com.microservice.product.security.JwtUserDetails;
 import com.microservice.product.security.RequirePermission;
+import com.microservice.product.service.ProductChangeService;
 import com.microservice.product.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -21,8 +35,13 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductChangeService productChangeService;
     private final AuthenticationService authenticationService;
 
+    // Lets the gateway cache shared catalog reads; without it Spring Security sends no-store
+    @Value("${product.http-cache.max-age:PT10S}")
+    private Duration cacheMaxAge;
+
     @PostMapping
     @RequirePermission("WRITE_PRODUCTS")
     public ResponseEntity<ProductResponse> createProduct(
@@ -38,21 +57,80 @@ public class ProductController {
     @RequirePermission("READ_PRODUCTS")
     public ResponseEntity<List<ProductResponse>> getAllProducts() {
         List<ProductResponse> products = productService.getAllProducts();
-        return ResponseEntity.ok(products);
+        return cacheable(products);
+    }
+
+    @GetMapping(params = "page")
+    @RequirePermission("READ_PRODUCTS")
+    public ResponseEntity<ProductPageResponse> getProductPage(
+            @RequestParam int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort) {
+        return cacheable(productService.getProductPage(page, size, sort));
+    }
+
+    @GetMapping("/mine")
+    @RequirePermission("READ_PRODUCTS")
+    public ResponseEntity<ProductCursorPage> getMyProducts(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "20") int limit) {
+        String userId = authenticationService.requireCurrentUserId();
+        return ResponseEntity.ok(productService.getProductsByOwner(userId, after, limit));
+    }
+
+    @PatchMapping("/mine/price")
+    @RequirePermission("WRITE_PRODUCTS")
+    public ResponseEntity<BulkUpdateResponse> adjustMyPrices(
+            @Valid @RequestBody PriceAdjustmentRequest request) {
+        String userId = authenticationService.requireCurrentUserId();
+        return ResponseEntity.ok(productService.adjustOwnerPrices(userId, request.getPercentage()));
+    }
+
+    @PatchMapping("/mine/stock")
+    @RequirePermission("WRITE_PRODUCTS")
+    public ResponseEntity<BulkUpdateResponse> adjustMyStock(
+            @Valid @RequestBody StockAdjustmentRequest request) {
+        String userId = authenticationService.requireCurrentUserId();
+        return ResponseEntity.ok(productService.adjustOwnerStock(userId, request.getDelta()));
+    }
+
+    @PatchMapping("/bulk")
+    @RequirePermission("WRITE_PRODUCTS")
+    public ResponseEntity<BulkUpdateResponse> bulkUpdate(@Valid @RequestBody BulkProductRequest request) {
+        if (request.getOperation() == BulkOperation.SOFT_DELETE
+                && !authenticationService.hasPermission("DELETE_PRODUCTS")) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN,
+                    "Access denied: bulk delete requires permission 'DELETE_PRODUCTS'");
+        }
+        String userId = authenticationService.requireCurrentUserId();
+        return ResponseEntity.ok(productService.bulkUpdate(request, userId));
+    }
+
+    /**
+     * Change feed for catalog mirrors. Pass the returned nextCursor back as cursor;
+     * waitMs > 0 long-polls until new changes commit or the wait elapses.
+     */
+    @GetMapping("/changes")
+    @RequirePermission("READ_PRODUCTS")
+    public DeferredResult<ProductChangeBatch> getChanges(
+            @RequestParam(defaultValue = "0") long cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") long waitMs) {
+        return productChangeService.pollChanges(cursor, limit, waitMs);
     }
 
     @GetMapping("/{id}")
     @RequirePermission("READ_PRODUCTS")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
         ProductResponse product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+        return cacheable(product);
     }
 
     @GetMapping("/category/{category}")
     @RequirePermission("READ_PRODUCTS")
     public ResponseEntity<List<ProductResponse>> getProductsByCategory(@PathVariable String category) {
         List<ProductResponse> products = productService.getProductsByCategory(category);
-        return ResponseEntity.ok(products);
+        return cacheable(products);
     }
 
     @PutMapping("/{id}")
@@ -95,4 +173,8 @@ public class ProductController {
             String.join(", ", authenticationService.getCurrentUserRoles()),
             String.join(", ", authenticationService.getCurrentUserPermissions())));
     }
+
+    private <T> ResponseEntity<T> cacheable(T body) {
+        return ResponseEntity.ok().cacheControl(CacheControl.maxAge(cacheMaxAge)).body(body);
+    }
 }
@@ -0,0 +1,70 @@
+package com.microservice.product.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with a read/write router: the spring.datasource
+ * pool is the primary, product.datasource.replicas are the read replicas. Every pool
+ * publishes hikaricp.* metrics tagged with its pool name.
+ * Same as ReadReplicaConfiguration in auth-service; change both together.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReadReplicaConfiguration {
+
+    @Bean
+    public ReplicaSelector replicaSelector(ReplicaProperties properties, MeterRegistry meterRegistry) {
+        List<ReplicaSelector.Replica> replicas = properties.getReplicas().stream()
+                .map(replica -> {
+                    HikariDataSource dataSource = DataSourceBuilder.create()
+                            .type(HikariDataSource.class)
+                            .url(replica.getUrl())
+                            .username(replica.getUsername())
+                            .password(replica.getPassword())
+                            .build();
+                    dataSource.setPoolName(replica.getName());
+                    dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+                    dataSource.setReadOnly(true);
+                    dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+                    return new ReplicaSelector.Replica(replica.getName(), dataSource, replica.getLagQuery());
+                })
+                .toList();
+        return new ReplicaSelector(replicas, properties.getMaxLagMs(), meterRegistry);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties dataSourceProperties,
+                                                        ReplicaSelector replicaSelector, Environment environment,
+                                                        MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new ReadWriteRoutingDataSource(primary, replicaSelector, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
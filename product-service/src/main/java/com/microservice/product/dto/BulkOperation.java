@@ -0,0 +1,10 @@
+package com.microservice.product.dto;
+
+public enum BulkOperation {
+    /** Scale prices by percentage */
+    PRICE_PERCENTAGE,
+    /** Add delta to stock, clamping at zero */
+    STOCK_ADJUSTMENT,
+    /** Mark matching products as deleted */
+    SOFT_DELETE
+}
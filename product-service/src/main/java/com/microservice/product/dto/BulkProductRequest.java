@@ -0,0 +1,40 @@
+package com.microservice.product.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Set-based product operation. Products are selected by category and/or ids;
+ * at least one of them is required.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProductRequest {
+
+    @NotNull(message = "Operation is required")
+    private BulkOperation operation;
+
+    private String category;
+
+    @Size(max = 10000, message = "At most 10000 ids per request")
+    private List<Long> ids;
+
+    /**
+     * Required for PRICE_PERCENTAGE, e.g. 10 raises prices by 10%.
+     */
+    @DecimalMin(value = "-100", inclusive = false, message = "Percentage must be greater than -100")
+    private BigDecimal percentage;
+
+    /**
+     * Required for STOCK_ADJUSTMENT.
+     */
+    private Integer delta;
+}
@@ -0,0 +1,19 @@
+package com.microservice.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResponse {
+    private int affected;
+    /**
+     * Change-feed cursor of the last entry recorded for the update, or null when nothing
+     * matched. Reading the feed up to this cursor yields the affected products.
+     */
+    private Long cursor;
+}
@@ -0,0 +1,22 @@
+package com.microservice.product.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAdjustmentRequest {
+
+    /**
+     * Relative change, e.g. 10 raises prices by 10%, -15 lowers them by 15%.
+     */
+    @NotNull(message = "Percentage is required")
+    @DecimalMin(value = "-100", inclusive = false, message = "Percentage must be greater than -100")
+    private BigDecimal percentage;
+}
@@ -0,0 +1,18 @@
+package com.microservice.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeBatch {
+    private List<ProductChangeResponse> changes;
+    private Long nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,22 @@
+package com.microservice.product.dto;
+
+import com.microservice.product.entity.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeResponse {
+    private Long cursor;
+    private Long productId;
+    private ChangeType changeType;
+    private LocalDateTime changedAt;
+    private String changedBy;
+    private ProductResponse product;
+}
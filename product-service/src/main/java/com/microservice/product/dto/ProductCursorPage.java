@@ -0,0 +1,20 @@
+package com.microservice.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCursorPage {
+    private List<ProductResponse> content;
+    /**
+     * Pass as "after" to fetch the next page; null when there are no more products.
+     */
+    private Long nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.microservice.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageResponse {
+    private List<ProductResponse> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+}
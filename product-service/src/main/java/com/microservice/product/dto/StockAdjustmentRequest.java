@@ -0,0 +1,18 @@
+package com.microservice.product.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentRequest {
+
+    /**
+     * Amount added to each product's stock; negative values reduce it, never below zero.
+     */
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+}
@@ -0,0 +1,10 @@
+package com.microservice.product.entity;
+
+/**
+ * Kind of write recorded in the product change feed.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -6,11 +6,15 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_created_by_id", columnList = "created_by, id")
+})
+@SQLRestriction("is_deleted = false")
 @Data
 @EqualsAndHashCode(callSuper = false)
 @Builder
@@ -0,0 +1,48 @@
+package com.microservice.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row appended in the same transaction as every product write.
+ * The generated id doubles as the consumer cursor of the change feed.
+ */
+@Entity
+@Table(name = "product_changes", indexes = {
+        @Index(name = "idx_product_changes_changed_at", columnList = "changed_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    /**
+     * JSON snapshot of the product after the write, null for deletes.
+     */
+    @Lob
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "changed_by")
+    private String changedBy;
+}
@@ -0,0 +1,34 @@
+package com.microservice.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated popularity counters per product, maintained by batched upserts
+ * from {@link com.microservice.product.service.ProductStatsService}.
+ */
+@Entity
+@Table(name = "product_stats", indexes = {
+        @Index(name = "idx_product_stats_view_count", columnList = "view_count")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStats {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "view_count", nullable = false)
+    private Long viewCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,51 @@
+package com.microservice.product.idempotency;
+
+import java.time.Duration;
+
+/**
+ * Records the first response for each Idempotency-Key so retries can be answered without
+ * running the handler again.
+ * Same as IdempotencyStore in auth-service; change both together.
+ */
+public interface IdempotencyStore {
+
+    enum State {
+        /** The caller owns the key and must run the request, then complete or release it. */
+        ACQUIRED,
+        /** The key has a stored response to replay. */
+        COMPLETED,
+        /** Another request with the key is still running. */
+        IN_PROGRESS,
+        /** The key was used for a different request. */
+        MISMATCH
+    }
+
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    record Claim(State state, StoredResponse response) {
+
+        static Claim of(State state) {
+            return new Claim(state, null);
+        }
+
+        static Claim completed(StoredResponse response) {
+            return new Claim(State.COMPLETED, response);
+        }
+    }
+
+    Claim claim(String key, String fingerprint);
+
+    /**
+     * Waits up to timeout for an in-progress key to complete. If its owner releases the key
+     * meanwhile, the waiter claims it instead.
+     */
+    Claim await(String key, String fingerprint, Duration timeout);
+
+    void complete(String key, StoredResponse response);
+
+    /**
+     * Forgets the key without storing a response, so the request may be retried.
+     */
+    void release(String key);
+}
@@ -0,0 +1,80 @@
+package com.microservice.product.reactive;
+
+import com.microservice.product.security.JwtUserDetails;
+import com.microservice.product.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reactive counterpart of JwtAuthenticationFilter plus PermissionCheckAspect. Verifying
+ * the HMAC signature is pure CPU work, so the check runs inline on the event loop; the
+ * authenticated user is exposed to handlers as the {@link #USER_ATTRIBUTE} request attribute.
+ */
+@Component
+@ConditionalOnProperty(name = "product.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactivePermissionFilter {
+
+    public static final String USER_ATTRIBUTE = ReactivePermissionFilter.class.getName() + ".user";
+
+    private final JwtUtil jwtUtil;
+
+    public HandlerFilterFunction<ServerResponse, ServerResponse> require(String permission) {
+        return (request, next) -> {
+            String authHeader = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return reject(HttpStatus.UNAUTHORIZED, "Missing or invalid Authorization header");
+            }
+
+            Claims claims;
+            try {
+                claims = jwtUtil.extractClaims(authHeader.substring(7));
+            } catch (Exception e) {
+                return reject(HttpStatus.UNAUTHORIZED, "Invalid JWT token");
+            }
+
+            JwtUserDetails user = new JwtUserDetails(
+                    claims.getSubject(),
+                    claims.get("email", String.class),
+                    claims.get("fullName", String.class),
+                    split(claims.get("roles", String.class)),
+                    split(claims.get("permissions", String.class)));
+            if (!user.hasPermission(permission)) {
+                return reject(HttpStatus.FORBIDDEN, String.format("Access denied: User '%s' does not have permission '%s'",
+                        user.getEmail(), permission));
+            }
+
+            request.attributes().put(USER_ATTRIBUTE, user);
+            return next.handle(request);
+        };
+    }
+
+    public static JwtUserDetails user(ServerRequest request) {
+        return (JwtUserDetails) request.attributes().get(USER_ATTRIBUTE);
+    }
+
+    private static List<String> split(String value) {
+        if (value == null || value.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    private static Mono<ServerResponse> reject(HttpStatus status, String message) {
+        return ServerResponse.status(status).bodyValue(message);
+    }
+}
@@ -0,0 +1,93 @@
+package com.microservice.product.reactive;
+
+import com.microservice.product.cache.ProductCache;
+import com.microservice.product.dto.ProductResponse;
+import com.microservice.product.service.ProductStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handlers for the reactive GET /products routes. Like ProductService, lookups are served
+ * from the in-memory {@link ProductCache} once it is warm and fall back to the database
+ * otherwise; paged and per-owner listings always query the database.
+ */
+@Component
+@ConditionalOnProperty(name = "product.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveProductHandler {
+
+    private final ReactiveProductRepository productRepository;
+    private final ProductCache productCache;
+    private final ProductStatsService productStatsService;
+
+    public Mono<ServerResponse> getAllProducts(ServerRequest request) {
+        Flux<ProductResponse> products = productCache.isWarm()
+                ? Flux.fromIterable(productCache.getAll())
+                : productRepository.findAll();
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(products, ProductResponse.class);
+    }
+
+    public Mono<ServerResponse> getProductPage(ServerRequest request) {
+        int page = intParam(request, "page", 0);
+        int size = intParam(request, "size", 20);
+        String sort = request.queryParam("sort").orElse("id");
+        return productRepository.findPage(page, size, sort)
+                .flatMap(body -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body));
+    }
+
+    public Mono<ServerResponse> getMyProducts(ServerRequest request) {
+        String userId = ReactivePermissionFilter.user(request).getUserId();
+        if (userId == null) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).bodyValue("User not authenticated");
+        }
+        long after = longParam(request, "after", 0);
+        int limit = intParam(request, "limit", 20);
+        return productRepository.findByOwner(userId, after, limit)
+                .flatMap(body -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body));
+    }
+
+    public Mono<ServerResponse> getProductById(ServerRequest request) {
+        long id;
+        try {
+            id = Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().bodyValue("Invalid product id: " + request.pathVariable("id"));
+        }
+        Mono<ProductResponse> product = productCache.isWarm()
+                ? Mono.justOrEmpty(productCache.get(id)).switchIfEmpty(productRepository.findById(id))
+                : productRepository.findById(id);
+        return product
+                .doOnNext(found -> productStatsService.recordView(id))
+                .flatMap(found -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(found))
+                .switchIfEmpty(ServerResponse.status(HttpStatus.NOT_FOUND).bodyValue("Product not found with id: " + id));
+    }
+
+    public Mono<ServerResponse> getProductsByCategory(ServerRequest request) {
+        String category = request.pathVariable("category");
+        Flux<ProductResponse> products = productCache.isWarm()
+                ? Flux.fromIterable(productCache.getByCategory(category))
+                : productRepository.findByCategory(category);
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(products, ProductResponse.class);
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        return (int) longParam(request, name, defaultValue);
+    }
+
+    private static long longParam(ServerRequest request, String name, long defaultValue) {
+        return request.queryParam(name).map(value -> {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }).orElse(defaultValue);
+    }
+}
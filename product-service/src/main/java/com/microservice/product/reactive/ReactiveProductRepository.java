@@ -0,0 +1,119 @@
+package com.microservice.product.reactive;
+
+import com.microservice.product.dto.ProductCursorPage;
+import com.microservice.product.dto.ProductPageResponse;
+import com.microservice.product.dto.ProductResponse;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only product queries over R2DBC, returning the same DTOs as ProductService.
+ * Soft-deleted rows are filtered explicitly since the Product entity's SQLRestriction
+ * does not apply here.
+ */
+@Component
+@ConditionalOnProperty(name = "product.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveProductRepository {
+
+    private static final String SELECT = "SELECT p.id, p.name, p.description, p.price, p.stock, p.category, "
+            + "p.created_at, p.updated_at, p.created_by FROM products p ";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<ProductResponse> findAll() {
+        return databaseClient.sql(SELECT + "WHERE p.is_deleted = false ORDER BY p.id")
+                .map((row, metadata) -> toResponse(row))
+                .all();
+    }
+
+    public Mono<ProductResponse> findById(long id) {
+        return databaseClient.sql(SELECT + "WHERE p.id = :id AND p.is_deleted = false")
+                .bind("id", id)
+                .map((row, metadata) -> toResponse(row))
+                .one();
+    }
+
+    public Flux<ProductResponse> findByCategory(String category) {
+        return databaseClient.sql(SELECT + "WHERE p.category = :category AND p.is_deleted = false ORDER BY p.id")
+                .bind("category", category)
+                .map((row, metadata) -> toResponse(row))
+                .all();
+    }
+
+    /**
+     * Offset-paged product list, same bounds and ordering as ProductService.getProductPage.
+     */
+    public Mono<ProductPageResponse> findPage(int page, int size, String sort) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.max(1, Math.min(size, 100));
+        String query = "popularity".equalsIgnoreCase(sort)
+                ? SELECT + "LEFT JOIN product_stats s ON s.product_id = p.id WHERE p.is_deleted = false "
+                        + "ORDER BY COALESCE(s.view_count, 0) DESC, p.id ASC"
+                : SELECT + "WHERE p.is_deleted = false ORDER BY p.id";
+
+        Mono<List<ProductResponse>> content = databaseClient.sql(query + " LIMIT :pageSize OFFSET :skip")
+                .bind("pageSize", pageSize)
+                .bind("skip", (long) pageNumber * pageSize)
+                .map((row, metadata) -> toResponse(row))
+                .all()
+                .collectList();
+        Mono<Long> total = databaseClient.sql("SELECT COUNT(*) FROM products WHERE is_deleted = false")
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one();
+
+        return Mono.zip(content, total).map(result -> ProductPageResponse.builder()
+                .content(result.getT1())
+                .page(pageNumber)
+                .size(pageSize)
+                .totalElements(result.getT2())
+                .totalPages((int) ((result.getT2() + pageSize - 1) / pageSize))
+                .build());
+    }
+
+    /**
+     * Keyset page of the products created by the given user, same as ProductService.getProductsByOwner.
+     */
+    public Mono<ProductCursorPage> findByOwner(String ownerId, long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, 100));
+        return databaseClient.sql(SELECT + "WHERE p.created_by = :owner AND p.id > :after AND p.is_deleted = false "
+                        + "ORDER BY p.id LIMIT :pageSize")
+                .bind("owner", ownerId)
+                .bind("after", afterId)
+                .bind("pageSize", pageSize + 1)
+                .map((row, metadata) -> toResponse(row))
+                .all()
+                .collectList()
+                .map(products -> {
+                    boolean hasMore = products.size() > pageSize;
+                    List<ProductResponse> content = hasMore ? products.subList(0, pageSize) : products;
+                    return ProductCursorPage.builder()
+                            .content(content)
+                            .nextCursor(hasMore ? content.get(content.size() - 1).getId() : null)
+                            .build();
+                });
+    }
+
+    private static ProductResponse toResponse(Row row) {
+        return ProductResponse.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .description(row.get("description", String.class))
+                .price(row.get("price", BigDecimal.class))
+                .stock(row.get("stock", Integer.class))
+                .category(row.get("category", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .createdBy(row.get("created_by", String.class))
+                .build();
+    }
+}
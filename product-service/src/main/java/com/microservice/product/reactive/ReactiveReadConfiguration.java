@@ -0,0 +1,53 @@
+package com.microservice.product.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Wiring for the reactive read-only product API. The service stays a servlet application,
+ * so these routes are not picked up by a WebFlux dispatcher; they are turned into a plain
+ * {@link HttpHandler} that {@link ReactiveReadServer} serves on its own port.
+ */
+@Configuration
+@ConditionalOnProperty(name = "product.reactive.enabled", havingValue = "true")
+public class ReactiveReadConfiguration {
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public HttpHandler reactiveReadHttpHandler(ReactiveProductHandler handler, ReactivePermissionFilter permissionFilter,
+                                               ObjectMapper objectMapper) {
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .GET("/products", RequestPredicates.queryParam("page", page -> true), handler::getProductPage)
+                .GET("/products", handler::getAllProducts)
+                .GET("/products/mine", handler::getMyProducts)
+                .GET("/products/category/{category}", handler::getProductsByCategory)
+                .GET("/products/{id}", handler::getProductById)
+                .filter(permissionFilter.require("READ_PRODUCTS"))
+                .build();
+
+        // Same ObjectMapper as the servlet controllers, so both APIs render identical JSON
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return RouterFunctions.toHttpHandler(routes, strategies);
+    }
+}
@@ -0,0 +1,63 @@
+package com.microservice.product.reactive;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Serves the reactive read API on product.reactive.port with Reactor Netty, next to the
+ * Tomcat connector of the servlet API. Requests are handled on Netty's event loop threads
+ * (one per core) instead of a thread per request.
+ *
+ * Port 0 binds a free port, so several instances can share a host. The bound port is
+ * published as the reactive-port instance metadata before the instance goes UP.
+ */
+@Component
+@ConditionalOnProperty(name = "product.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private final HttpHandler reactiveReadHttpHandler;
+    private final ApplicationInfoManager applicationInfoManager;
+
+    @Value("${product.reactive.port:0}")
+    private int port;
+
+    private volatile DisposableServer server;
+
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(reactiveReadHttpHandler))
+                .bindNow();
+        applicationInfoManager.registerAppMetadata(Map.of("reactive-port", String.valueOf(server.port())));
+        log.info("Reactive product read API listening on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        server = null;
+        if (current != null) {
+            current.disposeNow(Duration.ofSeconds(10));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
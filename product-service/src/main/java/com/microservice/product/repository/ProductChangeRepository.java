@@ -0,0 +1,33 @@
+package com.microservice.product.repository;
+
+import com.microservice.product.entity.ProductChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+
+    /**
+     * Read-write so it is routed to the primary, also when called outside a transaction:
+     * the change feed must see a change as soon as it commits, see ProductChangeService.getChanges.
+     */
+    @Transactional
+    List<ProductChange> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM ProductChange c")
+    Long findLatestId();
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM ProductChange c WHERE c.changedAt < :before")
+    Long findLatestIdBefore(LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM ProductChange c WHERE c.changedAt < :cutoff")
+    int deleteByChangedAtBefore(LocalDateTime cutoff);
+}
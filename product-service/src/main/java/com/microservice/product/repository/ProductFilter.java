@@ -0,0 +1,22 @@
+package com.microservice.product.repository;
+
+import java.util.Collection;
+
+/**
+ * Row selection for set-based product updates. Null criteria are ignored;
+ * soft-deleted products never match.
+ */
+public record ProductFilter(String category, Collection<Long> ids, String createdBy) {
+
+    public static ProductFilter byOwner(String createdBy) {
+        return new ProductFilter(null, null, createdBy);
+    }
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean isEmpty() {
+        return category == null && !hasIds() && createdBy == null;
+    }
+}
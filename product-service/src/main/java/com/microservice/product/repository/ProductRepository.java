@@ -1,13 +1,24 @@
 package com.microservice.product.repository;
 
 import com.microservice.product.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     List<Product> findByCategory(String category);
     List<Product> findByCreatedBy(String createdBy);
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query(value = "SELECT p FROM Product p LEFT JOIN ProductStats s ON s.productId = p.id "
+            + "ORDER BY COALESCE(s.viewCount, 0) DESC, p.id ASC",
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<Product> findAllOrderByPopularity(Pageable pageable);
+
+    List<Product> findByCreatedByAndIdGreaterThanOrderByIdAsc(String createdBy, Long id, Pageable pageable);
 }
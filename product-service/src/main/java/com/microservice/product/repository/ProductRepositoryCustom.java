@@ -0,0 +1,23 @@
+package com.microservice.product.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Set-based product updates over a filter, applied one id range at a time.
+ * Each update also sets the audit columns, since entity listeners do not run for bulk statements.
+ */
+public interface ProductRepositoryCustom {
+
+    List<Long> findIdsMatching(ProductFilter filter, long afterId, int limit);
+
+    int scalePrice(ProductFilter filter, long fromId, long toId, BigDecimal factor,
+                   LocalDateTime updatedAt, String updatedBy);
+
+    int adjustStock(ProductFilter filter, long fromId, long toId, int delta,
+                    LocalDateTime updatedAt, String updatedBy);
+
+    int softDelete(ProductFilter filter, long fromId, long toId,
+                   LocalDateTime updatedAt, String updatedBy);
+}
@@ -0,0 +1,93 @@
+package com.microservice.product.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String RANGE = " AND p.id > :fromId AND p.id <= :toId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIdsMatching(ProductFilter filter, long afterId, int limit) {
+        return bind(entityManager.createQuery(
+                        "SELECT p.id FROM Product p" + where(filter) + " AND p.id > :afterId ORDER BY p.id", Long.class), filter)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public int scalePrice(ProductFilter filter, long fromId, long toId, BigDecimal factor,
+                          LocalDateTime updatedAt, String updatedBy) {
+        Query query = entityManager.createQuery("UPDATE Product p SET p.price = p.price * :factor, "
+                + "p.updatedAt = :updatedAt, p.updatedBy = :updatedBy" + where(filter) + RANGE);
+        query.setParameter("factor", factor);
+        return execute(query, filter, fromId, toId, updatedAt, updatedBy);
+    }
+
+    @Override
+    public int adjustStock(ProductFilter filter, long fromId, long toId, int delta,
+                           LocalDateTime updatedAt, String updatedBy) {
+        Query query = entityManager.createQuery("UPDATE Product p SET "
+                + "p.stock = CASE WHEN p.stock + :delta < 0 THEN 0 ELSE p.stock + :delta END, "
+                + "p.updatedAt = :updatedAt, p.updatedBy = :updatedBy" + where(filter) + RANGE);
+        query.setParameter("delta", delta);
+        return execute(query, filter, fromId, toId, updatedAt, updatedBy);
+    }
+
+    @Override
+    public int softDelete(ProductFilter filter, long fromId, long toId,
+                          LocalDateTime updatedAt, String updatedBy) {
+        Query query = entityManager.createQuery("UPDATE Product p SET p.isDeleted = true, "
+                + "p.updatedAt = :updatedAt, p.updatedBy = :updatedBy" + where(filter) + RANGE);
+        return execute(query, filter, fromId, toId, updatedAt, updatedBy);
+    }
+
+    private int execute(Query query, ProductFilter filter, long fromId, long toId,
+                        LocalDateTime updatedAt, String updatedBy) {
+        bind(query, filter);
+        query.setParameter("fromId", fromId);
+        query.setParameter("toId", toId);
+        query.setParameter("updatedAt", updatedAt);
+        query.setParameter("updatedBy", updatedBy);
+        int affected = query.executeUpdate();
+        // Managed instances are stale after a bulk statement
+        entityManager.clear();
+        return affected;
+    }
+
+    private String where(ProductFilter filter) {
+        StringBuilder where = new StringBuilder(" WHERE p.isDeleted = false");
+        if (filter.category() != null) {
+            where.append(" AND p.category = :category");
+        }
+        if (filter.hasIds()) {
+            where.append(" AND p.id IN :ids");
+        }
+        if (filter.createdBy() != null) {
+            where.append(" AND p.createdBy = :createdBy");
+        }
+        return where.toString();
+    }
+
+    private <Q extends Query> Q bind(Q query, ProductFilter filter) {
+        if (filter.category() != null) {
+            query.setParameter("category", filter.category());
+        }
+        if (filter.hasIds()) {
+            query.setParameter("ids", filter.ids());
+        }
+        if (filter.createdBy() != null) {
+            query.setParameter("createdBy", filter.createdBy());
+        }
+        return query;
+    }
+}
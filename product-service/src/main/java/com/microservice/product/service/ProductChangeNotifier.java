@@ -0,0 +1,54 @@
+package com.microservice.product.service;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks long-poll consumers of the change feed and wakes them when a
+ * product change commits.
+ */
+@Component
+public class ProductChangeNotifier {
+
+    private final Set<Runnable> waiters = ConcurrentHashMap.newKeySet();
+    private final AtomicLong commitSequence = new AtomicLong();
+
+    /**
+     * Sequence number that increases on every committed change. Pollers read it
+     * before querying so a commit racing with registration is never missed.
+     */
+    public long currentSequence() {
+        return commitSequence.get();
+    }
+
+    public void register(Runnable waiter) {
+        waiters.add(waiter);
+    }
+
+    public boolean unregister(Runnable waiter) {
+        return waiters.remove(waiter);
+    }
+
+    /**
+     * Called synchronously after commit.
+     */
+    public void signal() {
+        commitSequence.incrementAndGet();
+    }
+
+    /**
+     * Runs waiting pollers off the committing request thread.
+     */
+    @Async
+    public void wakeWaiters() {
+        for (Runnable waiter : waiters) {
+            if (waiters.remove(waiter)) {
+                waiter.run();
+            }
+        }
+    }
+}
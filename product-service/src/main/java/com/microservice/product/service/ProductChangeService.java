@@ -0,0 +1,276 @@
+package com.microservice.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.product.cache.ProductCache;
+import com.microservice.product.dto.ProductChangeBatch;
+import com.microservice.product.dto.ProductChangeResponse;
+import com.microservice.product.dto.ProductResponse;
+import com.microservice.product.entity.ChangeType;
+import com.microservice.product.entity.ProductChange;
+import com.microservice.product.repository.ProductChangeRepository;
+import com.microservice.product.security.AuthenticationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox for product writes and the cursor-based feed that reads it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductChangeService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO product_changes (product_id, change_type, payload, changed_at, changed_by) VALUES (?, ?, ?, ?, ?)";
+
+    private final ProductChangeRepository productChangeRepository;
+    private final ProductChangeNotifier productChangeNotifier;
+    private final ProductCache productCache;
+    private final AuthenticationService authenticationService;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${product.change-feed.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${product.change-feed.max-wait-ms:30000}")
+    private long maxWaitMs;
+
+    @Value("${product.change-feed.gap-grace-ms:5000}")
+    private long gapGraceMs;
+
+    @Value("${product.change-feed.retention-hours:72}")
+    private long retentionHours;
+
+    /**
+     * Appends a change row inside the caller's transaction.
+     * @param snapshot State after the write, or null for deletes
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long productId, ChangeType changeType, ProductResponse snapshot) {
+        String currentUser = authenticationService.getCurrentUserId();
+        ProductChange change = ProductChange.builder()
+                .productId(productId)
+                .changeType(changeType)
+                .payload(snapshot != null ? writePayload(snapshot) : null)
+                .changedAt(LocalDateTime.now())
+                .changedBy(currentUser != null ? currentUser : "system")
+                .build();
+        productChangeRepository.save(change);
+        publishAfterCommit(List.of(ProductChangeResponse.builder()
+                .cursor(change.getId())
+                .productId(productId)
+                .changeType(changeType)
+                .changedAt(change.getChangedAt())
+                .changedBy(change.getChangedBy())
+                .product(snapshot)
+                .build()));
+    }
+
+    /**
+     * Appends one change row per snapshot with a single JDBC batch, for set-based writes.
+     * @return the recorded entries, including their cursors
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<ProductChangeResponse> recordAll(ChangeType changeType, List<ProductResponse> snapshots) {
+        List<Long> productIds = new ArrayList<>(snapshots.size());
+        List<String> payloads = new ArrayList<>(snapshots.size());
+        for (ProductResponse snapshot : snapshots) {
+            productIds.add(snapshot.getId());
+            payloads.add(writePayload(snapshot));
+        }
+        return insertChanges(changeType, productIds, payloads, snapshots);
+    }
+
+    /**
+     * Appends a DELETED row for each product id with a single JDBC batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<ProductChangeResponse> recordDeleted(List<Long> productIds) {
+        return insertChanges(ChangeType.DELETED, productIds, null, null);
+    }
+
+    /**
+     * Returns the changes after the cursor, in cursor order.
+     * Rows behind an id gap younger than the grace period are held back, since the gap
+     * may be a transaction that has not committed yet and would otherwise be skipped.
+     * Read-write so it is routed to the primary: long-polls wake when a change commits
+     * there, and a replica that has not applied it yet would answer with an empty batch.
+     */
+    @Transactional
+    public ProductChangeBatch getChanges(long cursor, int limit) {
+        int batchSize = Math.max(1, Math.min(limit, maxBatchSize));
+        List<ProductChange> rows = productChangeRepository
+                .findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, batchSize + 1));
+        LocalDateTime settledBefore = LocalDateTime.now().minus(gapGraceMs, ChronoUnit.MILLIS);
+
+        List<ProductChangeResponse> changes = new ArrayList<>(Math.min(rows.size(), batchSize));
+        long nextCursor = cursor;
+        boolean hasMore = false;
+        for (ProductChange row : rows) {
+            if (changes.size() == batchSize) {
+                hasMore = true;
+                break;
+            }
+            if (nextCursor > 0 && row.getId() != nextCursor + 1 && row.getChangedAt().isAfter(settledBefore)) {
+                break;
+            }
+            changes.add(mapToResponse(row));
+            nextCursor = row.getId();
+        }
+
+        return ProductChangeBatch.builder()
+                .changes(changes)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Long-poll variant of {@link #getChanges}: completes immediately when changes are
+     * available, otherwise on the next commit or when waitMs elapses.
+     */
+    public DeferredResult<ProductChangeBatch> pollChanges(long cursor, int limit, long waitMs) {
+        long sequence = productChangeNotifier.currentSequence();
+        ProductChangeBatch batch = getChanges(cursor, limit);
+        long timeout = Math.max(0, Math.min(waitMs, maxWaitMs));
+
+        if (!batch.getChanges().isEmpty() || timeout == 0) {
+            DeferredResult<ProductChangeBatch> result = new DeferredResult<>();
+            result.setResult(batch);
+            return result;
+        }
+
+        DeferredResult<ProductChangeBatch> result = new DeferredResult<>(timeout);
+        Runnable waiter = () -> result.setResult(getChanges(cursor, limit));
+        result.onTimeout(() -> {
+            productChangeNotifier.unregister(waiter);
+            result.setResult(getChanges(cursor, limit));
+        });
+        result.onCompletion(() -> productChangeNotifier.unregister(waiter));
+        productChangeNotifier.register(waiter);
+
+        if (productChangeNotifier.currentSequence() != sequence && productChangeNotifier.unregister(waiter)) {
+            waiter.run();
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${product.change-feed.prune-interval-ms:3600000}")
+    @Transactional
+    public void pruneChanges() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        int removed = productChangeRepository.deleteByChangedAtBefore(cutoff);
+        if (removed > 0) {
+            log.info("Pruned {} product changes older than {}", removed, cutoff);
+        }
+    }
+
+    private List<ProductChangeResponse> insertChanges(ChangeType changeType, List<Long> productIds,
+                                                      List<String> payloads, List<ProductResponse> snapshots) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        String currentUser = authenticationService.getCurrentUserId();
+        String changedBy = currentUser != null ? currentUser : "system";
+        LocalDateTime changedAt = LocalDateTime.now();
+
+        List<Long> cursors = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < productIds.size(); i++) {
+                    statement.setLong(1, productIds.get(i));
+                    statement.setString(2, changeType.name());
+                    statement.setString(3, payloads != null ? payloads.get(i) : null);
+                    statement.setTimestamp(4, Timestamp.valueOf(changedAt));
+                    statement.setString(5, changedBy);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                List<Long> keys = new ArrayList<>(productIds.size());
+                try (ResultSet generated = statement.getGeneratedKeys()) {
+                    while (generated.next()) {
+                        keys.add(generated.getLong(1));
+                    }
+                }
+                return keys;
+            }
+        });
+
+        List<ProductChangeResponse> changes = new ArrayList<>(productIds.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            changes.add(ProductChangeResponse.builder()
+                    .cursor(cursors != null && i < cursors.size() ? cursors.get(i) : null)
+                    .productId(productIds.get(i))
+                    .changeType(changeType)
+                    .changedAt(changedAt)
+                    .changedBy(changedBy)
+                    .product(snapshots != null ? snapshots.get(i) : null)
+                    .build());
+        }
+        publishAfterCommit(changes);
+        return changes;
+    }
+
+    /**
+     * Once the caller's transaction commits, applies the changes to this instance's
+     * product cache and wakes change-feed long-polls.
+     */
+    private void publishAfterCommit(List<ProductChangeResponse> changes) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productCache.applyCommitted(changes);
+                productChangeNotifier.signal();
+                productChangeNotifier.wakeWaiters();
+            }
+        });
+    }
+
+    private ProductChangeResponse mapToResponse(ProductChange change) {
+        return ProductChangeResponse.builder()
+                .cursor(change.getId())
+                .productId(change.getProductId())
+                .changeType(change.getChangeType())
+                .changedAt(change.getChangedAt())
+                .changedBy(change.getChangedBy())
+                .product(change.getPayload() != null ? readPayload(change.getPayload()) : null)
+                .build();
+    }
+
+    private String writePayload(ProductResponse snapshot) {
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize product change", e);
+        }
+    }
+
+    private ProductResponse readPayload(String payload) {
+        try {
+            return objectMapper.readValue(payload, ProductResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize product change", e);
+        }
+    }
+}
@@ -1,21 +1,46 @@
 package com.microservice.product.service;
 
+import com.microservice.product.cache.ProductCache;
+import com.microservice.product.dto.BulkProductRequest;
+import com.microservice.product.dto.BulkUpdateResponse;
+import com.microservice.product.dto.ProductChangeResponse;
+import com.microservice.product.dto.ProductCursorPage;
+import com.microservice.product.dto.ProductPageResponse;
 import com.microservice.product.dto.ProductRequest;
 import com.microservice.product.dto.ProductResponse;
+import com.microservice.product.entity.ChangeType;
 import com.microservice.product.entity.Product;
+import com.microservice.product.repository.ProductFilter;
 import com.microservice.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
+    private static final int BULK_CHUNK_SIZE = 500;
+
     private final ProductRepository productRepository;
+    private final ProductChangeService productChangeService;
+    private final ProductCache productCache;
+    private final ProductStatsService productStatsService;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public ProductResponse createProduct(ProductRequest request, String userEmail) {
@@ -28,10 +53,15 @@ public class ProductService {
                 .build();
 
         product = productRepository.save(product);
-        return mapToResponse(product);
+        ProductResponse response = mapToResponse(product);
+        productChangeService.record(product.getId(), ChangeType.CREATED, response);
+        return response;
     }
 
     public List<ProductResponse> getAllProducts() {
+        if (productCache.isWarm()) {
+            return productCache.getAll();
+        }
         return productRepository.findAll()
                 .stream()
                 .map(this::mapToResponse)
@@ -39,18 +69,137 @@ public class ProductService {
     }
 
     public ProductResponse getProductById(Long id) {
+        if (productCache.isWarm()) {
+            Optional<ProductResponse> cached = productCache.get(id);
+            if (cached.isPresent()) {
+                productStatsService.recordView(id);
+                return cached.get();
+            }
+        }
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
+        productStatsService.recordView(id);
         return mapToResponse(product);
     }
 
+    /**
+     * Offset-paged product list.
+     * @param sort "id" (default) or "popularity" (most viewed first, from product_stats)
+     */
+    public ProductPageResponse getProductPage(int page, int size, String sort) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.max(1, Math.min(size, 100));
+        Page<Product> products = "popularity".equalsIgnoreCase(sort)
+                ? productRepository.findAllOrderByPopularity(PageRequest.of(pageNumber, pageSize))
+                : productRepository.findAll(PageRequest.of(pageNumber, pageSize, Sort.by("id")));
+
+        return ProductPageResponse.builder()
+                .content(products.getContent().stream()
+                        .map(this::mapToResponse)
+                        .collect(Collectors.toList()))
+                .page(products.getNumber())
+                .size(products.getSize())
+                .totalElements(products.getTotalElements())
+                .totalPages(products.getTotalPages())
+                .build();
+    }
+
     public List<ProductResponse> getProductsByCategory(String category) {
+        if (productCache.isWarm()) {
+            return productCache.getByCategory(category);
+        }
         return productRepository.findByCategory(category)
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page of products in id order, used to bulk-load the product cache.
+     */
+    public List<ProductResponse> getProductsAfter(long afterId, int limit) {
+        return productRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit))
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Keyset page of the products created by the given user, served by the (created_by, id) index.
+     */
+    public ProductCursorPage getProductsByOwner(String ownerId, long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, 100));
+        List<Product> products = productRepository.findByCreatedByAndIdGreaterThanOrderByIdAsc(
+                ownerId, afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = products.size() > pageSize;
+        List<ProductResponse> content = products.stream()
+                .limit(pageSize)
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+
+        return ProductCursorPage.builder()
+                .content(content)
+                .nextCursor(hasMore ? content.get(content.size() - 1).getId() : null)
+                .build();
+    }
+
+    /**
+     * Scales the price of every product the owner created by the given percentage.
+     */
+    public BulkUpdateResponse adjustOwnerPrices(String ownerId, BigDecimal percentage) {
+        return adjustPrices(ProductFilter.byOwner(ownerId), percentage, ownerId);
+    }
+
+    /**
+     * Adds delta to the stock of every product the owner created, clamping at zero.
+     */
+    public BulkUpdateResponse adjustOwnerStock(String ownerId, int delta) {
+        return adjustStock(ProductFilter.byOwner(ownerId), delta, ownerId);
+    }
+
+    public BulkUpdateResponse bulkUpdate(BulkProductRequest request, String userId) {
+        ProductFilter filter = new ProductFilter(request.getCategory(), request.getIds(), null);
+        if (filter.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bulk operations require a category or ids");
+        }
+
+        switch (request.getOperation()) {
+            case PRICE_PERCENTAGE:
+                if (request.getPercentage() == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Percentage is required");
+                }
+                return adjustPrices(filter, request.getPercentage(), userId);
+            case STOCK_ADJUSTMENT:
+                if (request.getDelta() == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Delta is required");
+                }
+                return adjustStock(filter, request.getDelta(), userId);
+            case SOFT_DELETE:
+                return softDelete(filter, userId);
+            default:
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported operation: " + request.getOperation());
+        }
+    }
+
+    private BulkUpdateResponse adjustPrices(ProductFilter filter, BigDecimal percentage, String userId) {
+        BigDecimal factor = BigDecimal.ONE.add(percentage.divide(BigDecimal.valueOf(100), MathContext.DECIMAL64));
+        LocalDateTime now = LocalDateTime.now();
+        return updateInChunks(filter, ChangeType.UPDATED, (fromId, toId) ->
+                productRepository.scalePrice(filter, fromId, toId, factor, now, userId));
+    }
+
+    private BulkUpdateResponse adjustStock(ProductFilter filter, int delta, String userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return updateInChunks(filter, ChangeType.UPDATED, (fromId, toId) ->
+                productRepository.adjustStock(filter, fromId, toId, delta, now, userId));
+    }
+
+    private BulkUpdateResponse softDelete(ProductFilter filter, String userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return updateInChunks(filter, ChangeType.DELETED, (fromId, toId) ->
+                productRepository.softDelete(filter, fromId, toId, now, userId));
+    }
+
     @Transactional
     public ProductResponse updateProduct(Long id, ProductRequest request, String userEmail) {
         Product product = productRepository.findById(id)
@@ -62,8 +211,11 @@ public class ProductService {
         product.setStock(request.getStock());
         product.setCategory(request.getCategory());
 
-        product = productRepository.save(product);
-        return mapToResponse(product);
+        // Flush so the audit columns set by the entity listener are part of the change snapshot
+        product = productRepository.saveAndFlush(product);
+        ProductResponse response = mapToResponse(product);
+        productChangeService.record(product.getId(), ChangeType.UPDATED, response);
+        return response;
     }
 
     @Transactional
@@ -72,6 +224,69 @@ public class ProductService {
             throw new RuntimeException("Product not found with id: " + id);
         }
         productRepository.deleteById(id);
+        productStatsService.forget(id);
+        productChangeService.record(id, ChangeType.DELETED, null);
+    }
+
+    /**
+     * Runs a set-based UPDATE over the matching products one id range at a time, so each
+     * statement touches at most BULK_CHUNK_SIZE rows, and records every affected row in
+     * the change feed with one batch per chunk.
+     * Each chunk commits in its own transaction, so row locks and undo are bounded by the
+     * chunk size; a failure leaves the earlier chunks applied and in the feed.
+     */
+    private BulkUpdateResponse updateInChunks(ProductFilter filter, ChangeType changeType, RangeUpdate update) {
+        int affected = 0;
+        Long cursor = null;
+        long fromId = 0;
+        Chunk chunk;
+        do {
+            long afterId = fromId;
+            chunk = transactionTemplate.execute(status -> updateChunk(filter, changeType, update, afterId));
+            if (chunk == null || chunk.ids().isEmpty()) {
+                break;
+            }
+            affected += chunk.affected();
+            if (chunk.cursor() != null) {
+                cursor = chunk.cursor();
+            }
+            fromId = chunk.ids().get(chunk.ids().size() - 1);
+        } while (chunk.ids().size() == BULK_CHUNK_SIZE);
+
+        return BulkUpdateResponse.builder()
+                .affected(affected)
+                .cursor(cursor)
+                .build();
+    }
+
+    private Chunk updateChunk(ProductFilter filter, ChangeType changeType, RangeUpdate update, long fromId) {
+        List<Long> ids = productRepository.findIdsMatching(filter, fromId, BULK_CHUNK_SIZE);
+        if (ids.isEmpty()) {
+            return new Chunk(ids, 0, null);
+        }
+        int affected = update.apply(fromId, ids.get(ids.size() - 1));
+
+        List<ProductChangeResponse> changes;
+        if (changeType == ChangeType.DELETED) {
+            changes = productChangeService.recordDeleted(ids);
+        } else {
+            List<ProductResponse> updated = productRepository.findAllById(ids)
+                    .stream()
+                    .sorted(Comparator.comparing(Product::getId))
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
+            changes = productChangeService.recordAll(changeType, updated);
+        }
+        Long cursor = changes.isEmpty() ? null : changes.get(changes.size() - 1).getCursor();
+        return new Chunk(ids, affected, cursor);
+    }
+
+    private record Chunk(List<Long> ids, int affected, Long cursor) {
+    }
+
+    @FunctionalInterface
+    private interface RangeUpdate {
+        int apply(long fromId, long toId);
     }
 
     private ProductResponse mapToResponse(Product product) {
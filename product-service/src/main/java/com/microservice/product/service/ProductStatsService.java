@@ -0,0 +1,98 @@
+package com.microservice.product.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Counts product views in memory and periodically flushes the deltas to product_stats.
+ *
+ * Each product has its own {@link LongAdder}, which stripes increments across cells
+ * under contention. Once a product's adder exists, recording a view is a map lookup
+ * plus an increment and allocates nothing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductStatsService {
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+    private static final Function<Long, LongAdder> NEW_ADDER = id -> new LongAdder();
+    private static final String UPSERT_SQL =
+            "INSERT INTO product_stats (product_id, view_count, updated_at) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE view_count = view_count + VALUES(view_count), updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, LongAdder> viewCounts = new ConcurrentHashMap<>();
+
+    public void recordView(Long productId) {
+        LongAdder adder = viewCounts.get(productId);
+        if (adder == null) {
+            adder = viewCounts.computeIfAbsent(productId, NEW_ADDER);
+        }
+        adder.increment();
+    }
+
+    /**
+     * Drains pending view deltas into product_stats using batched upserts.
+     * Deltas of a failed batch are added back so they are retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${product.stats.flush-interval-ms:10000}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Map.Entry<Long, LongAdder> entry : viewCounts.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                batch.add(new Object[]{entry.getKey(), delta, now});
+            }
+            if (batch.size() == FLUSH_BATCH_SIZE) {
+                writeBatch(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    /**
+     * Removes the counter of a deleted product so the map does not grow with dead ids.
+     */
+    public void forget(Long productId) {
+        viewCounts.remove(productId);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void writeBatch(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} product view counters, retrying on next flush", batch.size(), e);
+            for (Object[] row : batch) {
+                recordViews((Long) row[0], (Long) row[1]);
+            }
+        }
+    }
+
+    private void recordViews(Long productId, long count) {
+        viewCounts.computeIfAbsent(productId, NEW_ADDER).add(count);
+    }
+}
@@ -0,0 +1,139 @@
+package com.microservice.product.threading;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports where virtual threads block while pinned to their carrier thread, typically
+ * inside a synchronized block or method. A pinned virtual thread holds its carrier for
+ * the whole wait, so a pinned call on a hot path caps throughput at the number of carriers.
+ *
+ * Pinning events come from the in-process JFR jdk.VirtualThreadPinned event. They are
+ * grouped by the innermost non-JDK frame and the worst sites are logged every
+ * report-interval-ms. Only active when spring.threads.virtual.enabled is set.
+ * Same as VirtualThreadPinningMonitor in auth-service; change both together.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "product.threading.pinning.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.microservice.";
+
+    @Value("${product.threading.pinning.threshold-ms:20}")
+    private long thresholdMs;
+
+    @Value("${product.threading.pinning.top-sites:5}")
+    private int topSites;
+
+    private final Map<String, PinningSite> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    private static final class PinningSite {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Reporting virtual thread pinning longer than {} ms", thresholdMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stream.close();
+    }
+
+    private void record(RecordedEvent event) {
+        PinningSite site = sites.computeIfAbsent(site(event.getStackTrace()), key -> new PinningSite());
+        long nanos = event.getDuration().toNanos();
+        site.count.increment();
+        site.totalNanos.add(nanos);
+        site.maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Logs the sites with the most pinned time since the last report and starts over.
+     */
+    @Scheduled(fixedDelayString = "${product.threading.pinning.report-interval-ms:60000}")
+    public void report() {
+        List<Map.Entry<String, PinningSite>> drained = new ArrayList<>();
+        for (String key : sites.keySet()) {
+            PinningSite site = sites.remove(key);
+            if (site != null) {
+                drained.add(Map.entry(key, site));
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        drained.sort(Comparator.comparingLong(
+                (Map.Entry<String, PinningSite> entry) -> entry.getValue().totalNanos.sum()).reversed());
+        for (Map.Entry<String, PinningSite> entry : drained.subList(0, Math.min(topSites, drained.size()))) {
+            PinningSite site = entry.getValue();
+            log.warn("Virtual threads pinned {} times for {} ms in total (max {} ms) at {}",
+                    site.count.sum(), Duration.ofNanos(site.totalNanos.sum()).toMillis(),
+                    Duration.ofNanos(site.maxNanos.get()).toMillis(), entry.getKey());
+        }
+    }
+
+    /**
+     * The innermost frame outside the JDK, followed by the innermost application frame when
+     * the pinning happened inside a library.
+     */
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        RecordedFrame blocking = null;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (blocking == null && !isJdk(type)) {
+                blocking = frame;
+            }
+            if (type.startsWith(APP_PACKAGE)) {
+                return blocking == frame ? format(frame) : format(blocking) + " via " + format(frame);
+            }
+        }
+        return blocking != null ? format(blocking) : "unknown";
+    }
+
+    private static boolean isJdk(String type) {
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,48 @@
+package com.microservice.product.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opens pool-connections database connections at once, so the pool grows to that size
+ * before traffic arrives instead of creating connections on the first requests.
+ * Same as ConnectionPoolWarmupTask in auth-service; change both together.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class ConnectionPoolWarmupTask implements WarmupTask {
+
+    private final DataSource dataSource;
+
+    @Value("${product.warmup.pool-connections:10}")
+    private int poolConnections;
+
+    @Override
+    public String name() {
+        return "connection-pool";
+    }
+
+    @Override
+    public void run() throws Exception {
+        List<Connection> connections = new ArrayList<>(poolConnections);
+        try {
+            for (int i = 0; i < poolConnections; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+}
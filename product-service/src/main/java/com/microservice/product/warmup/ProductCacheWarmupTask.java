@@ -0,0 +1,28 @@
+package com.microservice.product.warmup;
+
+import com.microservice.product.cache.ProductCacheLoader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the product cache before the instance takes traffic. The loader's own startup
+ * listener then finds the cache warm and does nothing.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class ProductCacheWarmupTask implements WarmupTask {
+
+    private final ProductCacheLoader productCacheLoader;
+
+    @Override
+    public String name() {
+        return "product-cache";
+    }
+
+    @Override
+    public void run() {
+        productCacheLoader.warmUp();
+    }
+}
@@ -0,0 +1,62 @@
+package com.microservice.product.warmup;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Sends synthetic read requests to this instance with a short-lived token, so JWT
+ * verification, the permission aspect, product read mapping and JSON serialization are
+ * loaded and compiled before real traffic. Only read endpoints without side effects are used.
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class RequestPathWarmupTask implements WarmupTask {
+
+    private final Environment environment;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Value("${product.warmup.iterations:200}")
+    private int iterations;
+
+    @Override
+    public String name() {
+        return "request-path";
+    }
+
+    @Override
+    public void run() {
+        RestClient client = RestClient.builder()
+                .baseUrl("http://localhost:" + environment.getProperty("local.server.port"))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + syntheticToken())
+                .build();
+        for (int i = 0; i < iterations; i++) {
+            client.get().uri("/products?page=0&size=20").retrieve().toBodilessEntity();
+            client.get().uri("/products/user-info").retrieve().toBodilessEntity();
+        }
+    }
+
+    private String syntheticToken() {
+        return Jwts.builder()
+                .subject("warmup")
+                .claim("email", "warmup@localhost")
+                .claim("fullName", "Warm-up")
+                .claim("roles", "USER")
+                .claim("permissions", "READ_PRODUCTS")
+                .expiration(new Date(System.currentTimeMillis() + 300_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,56 @@
+package com.microservice.product.warmup;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the {@link WarmupTask}s once the application is ready and only then switches the
+ * Eureka registration from STARTING (eureka.instance.initial-status) to UP, so the first
+ * real requests do not pay for cold JIT, an empty connection pool or lazy initialization.
+ *
+ * A failing task is logged and skipped; the instance is marked UP regardless. The total
+ * warm-up time is published as the warmup-ms instance metadata.
+ * Same as WarmupRunner in auth-service; change both together.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupRunner {
+
+    private final List<WarmupTask> warmupTasks;
+    private final ApplicationInfoManager applicationInfoManager;
+
+    @Value("${product.warmup.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpAndMarkUp() {
+        long started = System.nanoTime();
+        if (enabled) {
+            for (WarmupTask task : warmupTasks) {
+                long taskStarted = System.nanoTime();
+                try {
+                    task.run();
+                    log.info("Warm-up task '{}' finished in {} ms", task.name(),
+                            Duration.ofNanos(System.nanoTime() - taskStarted).toMillis());
+                } catch (Exception e) {
+                    log.warn("Warm-up task '{}' failed, continuing", task.name(), e);
+                }
+            }
+        }
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        applicationInfoManager.registerAppMetadata(Map.of("warmup-ms", String.valueOf(elapsedMs)));
+        applicationInfoManager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        log.info("Warm-up completed in {} ms, instance marked UP in Eureka", elapsedMs);
+    }
+}
@@ -0,0 +1,12 @@
+package com.microservice.product.warmup;
+
+/**
+ * A unit of startup warm-up run by {@link WarmupRunner} before the instance is marked UP.
+ * Same as WarmupTask in auth-service; change both together.
+ */
+public interface WarmupTask {
+
+    String name();
+
+    void run() throws Exception;
+}
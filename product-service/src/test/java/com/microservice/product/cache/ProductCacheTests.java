@@ -0,0 +1,69 @@
+package com.microservice.product.cache;
+
+import com.microservice.product.dto.ProductChangeResponse;
+import com.microservice.product.dto.ProductResponse;
+import com.microservice.product.entity.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCacheTests {
+
+	private final ProductCache cache = new ProductCache();
+
+	@BeforeEach
+	void warm() {
+		cache.put(product(1L, "Lamp", "home"));
+		cache.markWarm(10);
+	}
+
+	@Test
+	void committedDeleteIsVisibleBeforeTheFeedCatchesUp() {
+		cache.applyCommitted(List.of(change(12, 1L, ChangeType.DELETED, null)));
+
+		assertThat(cache.get(1L)).isEmpty();
+		assertThat(cache.getByCategory("home")).isEmpty();
+		assertThat(cache.getCursor()).isEqualTo(10);
+	}
+
+	@Test
+	void committedChangeDoesNotSkipEarlierFeedEntries() {
+		cache.applyCommitted(List.of(change(13, 1L, ChangeType.UPDATED, product(1L, "Desk lamp", "home"))));
+
+		cache.apply(change(11, 2L, ChangeType.CREATED, product(2L, "Chair", "home")));
+		cache.apply(change(12, 1L, ChangeType.UPDATED, product(1L, "Old lamp", "home")));
+
+		assertThat(cache.get(2L)).isPresent();
+		assertThat(cache.get(1L)).get().extracting(ProductResponse::getName).isEqualTo("Desk lamp");
+		assertThat(cache.getCursor()).isEqualTo(12);
+
+		cache.apply(change(13, 1L, ChangeType.UPDATED, product(1L, "Desk lamp", "home")));
+		cache.apply(change(14, 1L, ChangeType.UPDATED, product(1L, "Floor lamp", "home")));
+		assertThat(cache.get(1L)).get().extracting(ProductResponse::getName).isEqualTo("Floor lamp");
+	}
+
+	@Test
+	void committedChangeBehindTheCursorIsIgnored() {
+		cache.apply(change(11, 1L, ChangeType.UPDATED, product(1L, "Newer lamp", "home")));
+
+		cache.applyCommitted(List.of(change(11, 1L, ChangeType.DELETED, null)));
+
+		assertThat(cache.get(1L)).isPresent();
+	}
+
+	private static ProductResponse product(Long id, String name, String category) {
+		return ProductResponse.builder().id(id).name(name).category(category).build();
+	}
+
+	private static ProductChangeResponse change(long cursor, Long productId, ChangeType type, ProductResponse product) {
+		return ProductChangeResponse.builder()
+				.cursor(cursor)
+				.productId(productId)
+				.changeType(type)
+				.product(product)
+				.build();
+	}
+}
@@ -0,0 +1,94 @@
+package com.microservice.product.cache;
+
+import com.microservice.product.dto.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSnapshotStoreTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void snapshotRoundTripsEveryField() throws IOException {
+		ProductSnapshotStore store = store();
+		ProductResponse lamp = ProductResponse.builder()
+				.id(1L)
+				.name("Lámpara")
+				.description("Desk lamp")
+				.price(new BigDecimal("-12345678901234567890.0125"))
+				.stock(7)
+				.category("home")
+				.createdAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_789))
+				.updatedAt(LocalDateTime.of(2024, 2, 3, 4, 5, 6))
+				.createdBy("user-1")
+				.build();
+		ProductResponse sparse = ProductResponse.builder().id(2L).stock(0).build();
+		Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+		store.write(42, List.of(lamp, sparse));
+		ProductSnapshotStore.Snapshot snapshot = store.read().orElseThrow();
+
+		assertThat(snapshot.cursor()).isEqualTo(42);
+		assertThat(snapshot.createdAt()).isBetween(before, Instant.now());
+		assertThat(snapshot.products()).containsExactly(lamp, sparse);
+		assertThat(snapshot.products().get(0).getPrice().scale()).isEqualTo(4);
+	}
+
+	@Test
+	void rewriteReplacesThePreviousSnapshot() throws IOException {
+		ProductSnapshotStore store = store();
+		store.write(1, List.of(ProductResponse.builder().id(1L).stock(1).build()));
+
+		store.write(2, List.of());
+
+		ProductSnapshotStore.Snapshot snapshot = store.read().orElseThrow();
+		assertThat(snapshot.cursor()).isEqualTo(2);
+		assertThat(snapshot.products()).isEmpty();
+		assertThat(directory.resolve("catalog.snapshot.tmp")).doesNotExist();
+	}
+
+	@Test
+	void flippedByteFailsTheChecksum() throws IOException {
+		ProductSnapshotStore store = store();
+		store.write(42, List.of(ProductResponse.builder().id(1L).name("Lamp").stock(7).build()));
+		Path file = directory.resolve("catalog.snapshot");
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[bytes.length / 2] ^= 0x01;
+		Files.write(file, bytes);
+
+		assertThat(store.read()).isEmpty();
+	}
+
+	@Test
+	void truncatedFileIsIgnored() throws IOException {
+		ProductSnapshotStore store = store();
+		store.write(42, List.of(ProductResponse.builder().id(1L).name("Lamp").stock(7).build()));
+		Path file = directory.resolve("catalog.snapshot");
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+		assertThat(store.read()).isEmpty();
+	}
+
+	@Test
+	void missingFileReadsAsNoSnapshot() {
+		assertThat(store().read()).isEmpty();
+	}
+
+	private ProductSnapshotStore store() {
+		return new ProductSnapshotStore(directory.resolve("catalog.snapshot").toString());
+	}
+}
@@ -0,0 +1,140 @@
+package com.microservice.product.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes through a primary and a replica, two separate in-memory H2 databases that each
+ * know their own name, wired the way ReadReplicaConfiguration wires them.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private HikariDataSource replicaPool;
+	private ReplicaSelector replicaSelector;
+	private ReadWriteRoutingDataSource routingDataSource;
+	private JdbcTemplate replicaAdmin;
+	private TransactionTemplate readWrite;
+	private TransactionTemplate readOnly;
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		HikariDataSource primary = database("primary");
+		replicaPool = database("replica");
+		replicaAdmin = new JdbcTemplate(replicaPool);
+		replicaAdmin.execute("CREATE TABLE replication_lag (seconds DOUBLE)");
+		replicaAdmin.update("INSERT INTO replication_lag VALUES (0)");
+
+		replicaSelector = new ReplicaSelector(List.of(new ReplicaSelector.Replica("replica-1", replicaPool,
+				"SELECT seconds FROM replication_lag")), 1000, meterRegistry);
+		routingDataSource = new ReadWriteRoutingDataSource(primary, replicaSelector, meterRegistry);
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		// The lazy proxy reads the connection defaults from a primary connection on first use
+		readWriteTarget();
+		replicaSelector.checkLag();
+	}
+
+	@AfterEach
+	void tearDown() {
+		replicaSelector.close();
+		routingDataSource.close();
+	}
+
+	@Test
+	void readOnlyTransactionGoesToTheReplica() {
+		assertThat(readOnlyTarget()).isEqualTo("replica");
+		assertThat(connections("replica-1", "read-only")).isEqualTo(1);
+	}
+
+	@Test
+	void readWriteTransactionGoesToThePrimary() {
+		double before = connections("primary", "read-write");
+
+		assertThat(readWriteTarget()).isEqualTo("primary");
+		assertThat(connections("primary", "read-write")).isEqualTo(before + 1);
+	}
+
+	@Test
+	void laggingReplicaFallsBackToThePrimary() {
+		replicaAdmin.update("UPDATE replication_lag SET seconds = 5");
+		replicaSelector.checkLag();
+
+		assertThat(readOnlyTarget()).isEqualTo("primary");
+		assertThat(fallbacks("no-usable-replica")).isEqualTo(1);
+
+		replicaAdmin.update("UPDATE replication_lag SET seconds = 0.2");
+		replicaSelector.checkLag();
+
+		assertThat(readOnlyTarget()).isEqualTo("replica");
+	}
+
+	@Test
+	void replicaWithStoppedReplicationFallsBackToThePrimary() {
+		replicaAdmin.update("UPDATE replication_lag SET seconds = NULL");
+		replicaSelector.checkLag();
+
+		assertThat(readOnlyTarget()).isEqualTo("primary");
+	}
+
+	@Test
+	void unavailableReplicaFallsBackToThePrimary() {
+		replicaPool.close();
+
+		assertThat(readOnlyTarget()).isEqualTo("primary");
+		assertThat(fallbacks("connection-failed")).isEqualTo(1);
+
+		assertThat(readOnlyTarget()).isEqualTo("primary");
+		assertThat(fallbacks("no-usable-replica")).isEqualTo(1);
+	}
+
+	private String readOnlyTarget() {
+		return readOnly.execute(status -> whoAmI());
+	}
+
+	private String readWriteTarget() {
+		return readWrite.execute(status -> whoAmI());
+	}
+
+	private String whoAmI() {
+		return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+	}
+
+	private double connections(String target, String transaction) {
+		return meterRegistry.counter("datasource.routing.connections", "target", target, "transaction", transaction)
+				.count();
+	}
+
+	private double fallbacks(String reason) {
+		return meterRegistry.counter("datasource.routing.fallbacks", "reason", reason).count();
+	}
+
+	private static HikariDataSource database(String name) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+		dataSource.setPoolName(name);
+		dataSource.setMaximumPoolSize(2);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE whoami (name VARCHAR(20))");
+		jdbcTemplate.update("INSERT INTO whoami VALUES (?)", name);
+		return dataSource;
+	}
+}
@@ -0,0 +1,136 @@
+package com.microservice.product.repository;
+
+import com.microservice.product.entity.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the bulk JPQL against H2 in MySQL mode with the shipped MySQL dialect, so the
+ * statements are rendered the way they are in production.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:products;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductRepositoryCustomImplTests {
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private long book1;
+	private long book2;
+	private long toy;
+	private long deletedBook;
+	private long bobsBook;
+
+	@BeforeEach
+	void setUp() {
+		book1 = persist("alice", "Book 1", "books", "10.00", 5);
+		book2 = persist("alice", "Book 2", "books", "20.00", 1);
+		toy = persist("alice", "Toy", "toys", "30.00", 7);
+		deletedBook = persist("alice", "Old book", "books", "40.00", 3);
+		bobsBook = persist("bob", "Bob's book", "books", "50.00", 2);
+		entityManager.getEntityManager()
+				.createNativeQuery("UPDATE products SET is_deleted = true WHERE id = " + deletedBook)
+				.executeUpdate();
+		entityManager.clear();
+	}
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void findIdsMatchingCombinesCriteriaAndSkipsSoftDeletedRows() {
+		assertThat(productRepository.findIdsMatching(new ProductFilter("books", null, null), 0, 10))
+				.containsExactly(book1, book2, bobsBook);
+		assertThat(productRepository.findIdsMatching(new ProductFilter("books", null, "alice"), 0, 10))
+				.containsExactly(book1, book2);
+		assertThat(productRepository.findIdsMatching(new ProductFilter(null, List.of(toy, deletedBook), null), 0, 10))
+				.containsExactly(toy);
+		assertThat(productRepository.findIdsMatching(ProductFilter.byOwner("bob"), 0, 10))
+				.containsExactly(bobsBook);
+	}
+
+	@Test
+	void findIdsMatchingPagesByIdAfterTheCursor() {
+		ProductFilter books = new ProductFilter("books", null, null);
+
+		assertThat(productRepository.findIdsMatching(books, 0, 2)).containsExactly(book1, book2);
+		assertThat(productRepository.findIdsMatching(books, book2, 2)).containsExactly(bobsBook);
+	}
+
+	@Test
+	void scalePriceOnlyTouchesMatchingRowsInsideTheRange() {
+		LocalDateTime now = LocalDateTime.now();
+
+		int affected = productRepository.scalePrice(new ProductFilter("books", null, null),
+				book1, bobsBook, new BigDecimal("1.5"), now, "admin");
+
+		assertThat(affected).isEqualTo(2);
+		assertThat(price(book1)).isEqualByComparingTo("10.00");
+		assertThat(price(book2)).isEqualByComparingTo("30.00");
+		assertThat(price(toy)).isEqualByComparingTo("30.00");
+		assertThat(price(bobsBook)).isEqualByComparingTo("75.00");
+		assertThat(productRepository.findById(book2).orElseThrow().getUpdatedBy()).isEqualTo("admin");
+	}
+
+	@Test
+	void adjustStockClampsAtZero() {
+		int affected = productRepository.adjustStock(ProductFilter.byOwner("alice"),
+				0, Long.MAX_VALUE, -3, LocalDateTime.now(), "alice");
+
+		assertThat(affected).isEqualTo(3);
+		assertThat(productRepository.findById(book1).orElseThrow().getStock()).isEqualTo(2);
+		assertThat(productRepository.findById(book2).orElseThrow().getStock()).isZero();
+		assertThat(productRepository.findById(toy).orElseThrow().getStock()).isEqualTo(4);
+		assertThat(productRepository.findById(bobsBook).orElseThrow().getStock()).isEqualTo(2);
+	}
+
+	@Test
+	void softDeleteHidesTheMatchingRows() {
+		int affected = productRepository.softDelete(new ProductFilter(null, List.of(book1, toy), null),
+				0, Long.MAX_VALUE, LocalDateTime.now(), "alice");
+
+		assertThat(affected).isEqualTo(2);
+		assertThat(productRepository.findById(book1)).isEmpty();
+		assertThat(productRepository.findById(toy)).isEmpty();
+		assertThat(productRepository.findIdsMatching(ProductFilter.byOwner("alice"), 0, 10))
+				.containsExactly(book2);
+	}
+
+	private long persist(String owner, String name, String category, String price, int stock) {
+		SecurityContextHolder.getContext().setAuthentication(
+				UsernamePasswordAuthenticationToken.authenticated(owner, null, List.of()));
+		Product product = Product.builder()
+				.name(name)
+				.category(category)
+				.price(new BigDecimal(price))
+				.stock(stock)
+				.build();
+		return entityManager.persistAndFlush(product).getId();
+	}
+
+	private BigDecimal price(long id) {
+		return productRepository.findById(id).orElseThrow().getPrice();
+	}
+}
@@ -0,0 +1,135 @@
+package com.microservice.product.service;
+
+import com.microservice.product.dto.ProductChangeBatch;
+import com.microservice.product.dto.ProductChangeResponse;
+import com.microservice.product.entity.ChangeType;
+import com.microservice.product.entity.ProductChange;
+import com.microservice.product.repository.ProductChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductChangeServiceTests {
+
+	private final ProductChangeRepository repository = mock(ProductChangeRepository.class);
+	private final ProductChangeService service = new ProductChangeService(repository, null, null, null, null, null);
+	private final List<ProductChange> rows = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "maxBatchSize", 500);
+		ReflectionTestUtils.setField(service, "gapGraceMs", 5000L);
+		when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+			long cursor = invocation.getArgument(0);
+			Pageable page = invocation.getArgument(1);
+			return rows.stream().filter(row -> row.getId() > cursor).limit(page.getPageSize()).toList();
+		});
+	}
+
+	@Test
+	void contiguousChangesAreReturnedInCursorOrder() {
+		row(11, LocalDateTime.now());
+		row(12, LocalDateTime.now());
+		row(13, LocalDateTime.now());
+
+		ProductChangeBatch batch = service.getChanges(10, 100);
+
+		assertThat(cursors(batch)).containsExactly(11L, 12L, 13L);
+		assertThat(batch.getNextCursor()).isEqualTo(13);
+		assertThat(batch.isHasMore()).isFalse();
+	}
+
+	@Test
+	void recentGapHoldsBackTheChangesBehindIt() {
+		row(11, LocalDateTime.now());
+		row(13, LocalDateTime.now());
+
+		ProductChangeBatch batch = service.getChanges(10, 100);
+
+		assertThat(cursors(batch)).containsExactly(11L);
+		assertThat(batch.getNextCursor()).isEqualTo(11);
+	}
+
+	@Test
+	void recentGapRightAfterTheCursorReturnsNothing() {
+		row(12, LocalDateTime.now());
+
+		ProductChangeBatch batch = service.getChanges(10, 100);
+
+		assertThat(batch.getChanges()).isEmpty();
+		assertThat(batch.getNextCursor()).isEqualTo(10);
+	}
+
+	@Test
+	void gapOlderThanTheGracePeriodIsSkipped() {
+		row(11, LocalDateTime.now().minusSeconds(10));
+		row(13, LocalDateTime.now().minusSeconds(10));
+		row(14, LocalDateTime.now());
+
+		ProductChangeBatch batch = service.getChanges(10, 100);
+
+		assertThat(cursors(batch)).containsExactly(11L, 13L, 14L);
+		assertThat(batch.getNextCursor()).isEqualTo(14);
+	}
+
+	@Test
+	void readFromTheStartDoesNotWaitForEarlierIds() {
+		row(5, LocalDateTime.now());
+		row(6, LocalDateTime.now());
+
+		ProductChangeBatch batch = service.getChanges(0, 100);
+
+		assertThat(cursors(batch)).containsExactly(5L, 6L);
+	}
+
+	@Test
+	void fullBatchReportsMoreChanges() {
+		row(11, LocalDateTime.now());
+		row(12, LocalDateTime.now());
+		row(13, LocalDateTime.now());
+
+		ProductChangeBatch batch = service.getChanges(10, 2);
+
+		assertThat(cursors(batch)).containsExactly(11L, 12L);
+		assertThat(batch.getNextCursor()).isEqualTo(12);
+		assertThat(batch.isHasMore()).isTrue();
+	}
+
+	@Test
+	void requestedLimitIsCappedByTheMaximumBatchSize() {
+		ReflectionTestUtils.setField(service, "maxBatchSize", 2);
+		row(11, LocalDateTime.now());
+		row(12, LocalDateTime.now());
+		row(13, LocalDateTime.now());
+
+		ProductChangeBatch batch = service.getChanges(10, 100);
+
+		assertThat(cursors(batch)).containsExactly(11L, 12L);
+		assertThat(batch.isHasMore()).isTrue();
+	}
+
+	private void row(long id, LocalDateTime changedAt) {
+		rows.add(ProductChange.builder()
+				.id(id)
+				.productId(id * 100)
+				.changeType(ChangeType.DELETED)
+				.changedAt(changedAt)
+				.changedBy("user-1")
+				.build());
+	}
+
+	private static List<Long> cursors(ProductChangeBatch batch) {
+		return batch.getChanges().stream().map(ProductChangeResponse::getCursor).toList();
+	}
+}
@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+#
+# Builds an AppCDS archive for one Spring Boot jar from a training run.
+#
+#   scripts/cds-train.sh <module>/target/<module>.jar
+#
+# The jar is unpacked into target/cds (application.jar plus lib/), because CDS can only
+# archive classes loaded from plain jars on the class path. The training run starts the
+# application with -Dspring.context.exit=onRefresh, so every bean is created but no port
+# is opened, nothing registers with Eureka and no database schema is touched.
+#
+# Called by the fast-startup profile in the parent pom; does nothing for the parent
+# itself or any module that did not produce a jar.
+
+set -euo pipefail
+
+jar="${1:?usage: cds-train.sh <boot-jar>}"
+if [[ ! -f "$jar" ]]; then
+    exit 0
+fi
+
+target="$(cd "$(dirname "$jar")" && pwd)"
+out="$target/cds"
+rm -rf "$out"
+mkdir -p "$out/unpacked" "$out/lib"
+
+(cd "$out/unpacked" && jar -xf "$jar")
+main="$(sed -n 's/^Start-Class: *//p' "$out/unpacked/META-INF/MANIFEST.MF" | tr -d '\r')"
+if [[ -z "$main" ]]; then
+    echo "cds-train: $jar is not a Spring Boot jar, skipping"
+    exit 0
+fi
+
+jar -cf "$out/application.jar" -C "$out/unpacked/BOOT-INF/classes" .
+cp "$out"/unpacked/BOOT-INF/lib/*.jar "$out/lib/"
+rm -rf "$out/unpacked"
+
+# The class path must be identical between training and runtime, so it is written out
+# once in a fixed order and read back by whoever starts the service.
+classpath="$out/application.jar"
+for lib in $(ls "$out/lib" | sort); do
+    classpath="$classpath:$out/lib/$lib"
+done
+echo "$classpath" > "$out/classpath"
+echo "$main" > "$out/main-class"
+
+aot=false
+if jar -tf "$out/application.jar" | grep -q "__ApplicationContextInitializer.class"; then
+    aot=true
+fi
+echo "$aot" > "$out/aot"
+
+echo "cds-train: training $main (spring.aot.enabled=$aot)"
+java -XX:ArchiveClassesAtExit="$out/app.jsa" \
+        -Dspring.context.exit=onRefresh \
+        -Dspring.aot.enabled="$aot" \
+        -Dspring.cloud.refresh.enabled=false \
+        -Deureka.client.register-with-eureka=false \
+        -Deureka.client.fetch-registry=false \
+        -Dspring.jpa.hibernate.ddl-auto=none \
+        -Dspring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false \
+        -cp "$classpath" "$main" > "$out/training.log" 2>&1 || true
+
+# The JVM writes the archive on exit; a failed refresh still exits, so check the log too.
+if [[ ! -f "$out/app.jsa" ]] || grep -q "APPLICATION FAILED TO START" "$out/training.log"; then
+    echo "cds-train: training run failed, see $out/training.log; no archive written"
+    rm -f "$out/app.jsa"
+    exit 0
+fi
+
+echo "cds-train: wrote $out/app.jsa"
+echo "cds-train: start with"
+echo "  java -XX:SharedArchiveFile=$out/app.jsa -Dspring.aot.enabled=$aot -Dspring.cloud.refresh.enabled=false -cp \$(cat $out/classpath) $main"
@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+#
+# Compares platform-thread and virtual-thread execution for one servlet service under
+# the same burst load.
+#
+#   mvnw -DskipTests package
+#   scripts/execution-mode-loadtest.sh <auth-service|product-service> [concurrency] [duration]
+#
+# The service is started twice from its jar, once per mode, and loaded with hey
+# (https://github.com/rakyll/hey):
+#   auth-service     POST /login        BCrypt plus a user lookup in MySQL
+#   product-service  GET /products?page  paged query against MySQL
+#
+# MySQL and the registry must be running; for product-service auth-service must be up as
+# well, to issue the token. Each run's log is kept in <module>/target, including the
+# pinning report of VirtualThreadPinningMonitor for the virtual-thread run.
+
+set -euo pipefail
+
+root="$(cd "$(dirname "$0")/.." && pwd)"
+module="${1:?usage: execution-mode-loadtest.sh <auth-service|product-service> [concurrency] [duration]}"
+concurrency="${2:-500}"
+duration="${3:-30s}"
+login='{"email":"admin@example.com","password":"admin123"}'
+
+command -v hey > /dev/null || { echo "hey is required: go install github.com/rakyll/hey@latest"; exit 1; }
+jar="$(ls "$root/$module"/target/*.jar 2>/dev/null | grep -v -- '-plain.jar$' | head -n 1 || true)"
+[[ -n "$jar" ]] || { echo "no jar for $module, run mvnw -DskipTests package first"; exit 1; }
+
+case "$module" in
+    auth-service)
+        load=(hey -z "$duration" -c "$concurrency" -m POST -T application/json -d "$login" \
+            http://localhost:8081/login)
+        ;;
+    product-service)
+        token="$(curl -sf -H 'Content-Type: application/json' -d "$login" http://localhost:8081/login \
+            | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')"
+        [[ -n "$token" ]] || { echo "could not log in at auth-service on :8081"; exit 1; }
+        load=(hey -z "$duration" -c "$concurrency" -H "Authorization: Bearer $token" \
+            "http://localhost:8082/products?page=0&size=20")
+        ;;
+    *)
+        echo "unknown module $module"; exit 1
+        ;;
+esac
+
+run() {
+    local mode="$1" virtual="$2"
+    local log="$root/$module/target/loadtest-$mode.log" report="$root/$module/target/loadtest-$mode.txt"
+    java -Dspring.threads.virtual.enabled="$virtual" -jar "$jar" > "$log" 2>&1 &
+    local pid=$!
+    until grep -q "Warm-up completed in" "$log"; do
+        kill -0 "$pid" 2>/dev/null || { echo "$module failed to start, see $log"; exit 1; }
+        sleep 0.5
+    done
+
+    "${load[@]}" > "$report"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    local rps p50 p99 ok errors
+    rps="$(awk '/Requests\/sec/ { printf "%.0f", $2 }' "$report")"
+    p50="$(awk '/ 50% in/ { printf "%.0f", $3 * 1000 }' "$report")"
+    p99="$(awk '/ 99% in/ { printf "%.0f", $3 * 1000 }' "$report")"
+    ok="$(awk '/\[200\]/ { print $2 }' "$report")"
+    errors="$(awk '/Error distribution/ { e = 1; next } e && /\[[0-9]+\]/ { sum += substr($1, 2) } END { print sum + 0 }' "$report")"
+    printf '%-10s %10s %10s %10s %10s %8s\n' "$mode" "${rps:-0}" "${p50:--}" "${p99:--}" "${ok:-0}" "$errors"
+}
+
+echo "$module: $concurrency concurrent clients for $duration"
+printf '%-10s %10s %10s %10s %10s %8s\n' "mode" "req/s" "p50 ms" "p99 ms" "200s" "errors"
+run platform false
+run virtual true
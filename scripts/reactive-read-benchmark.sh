@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+#
+# Compares throughput per core of the servlet ProductController (:8082) and the reactive
+# read API (:8182) of one running product-service.
+#
+#   scripts/reactive-read-benchmark.sh [concurrency] [duration] [product-id]
+#
+# Both APIs are loaded in turn with hey (https://github.com/rakyll/hey) on the same read
+# routes. Requests per core is the number of 200 responses divided by the CPU seconds the
+# product-service JVM used during that run, so it is independent of how many cores the
+# machine has; pin the service with taskset to keep the load generator off its cores.
+#
+# Needs auth-service on :8081 to issue the token and product-service started with
+# REACTIVE_READ_ENABLED=true on the default reactive port.
+
+set -euo pipefail
+
+concurrency="${1:-200}"
+duration="${2:-30s}"
+product_id="${3:-1}"
+login='{"email":"admin@example.com","password":"admin123"}'
+
+command -v hey > /dev/null || { echo "hey is required: go install github.com/rakyll/hey@latest"; exit 1; }
+pid="$(pgrep -f 'product-service.*\.jar|ProductServiceApplication' | head -n 1 || true)"
+[[ -n "$pid" ]] || { echo "product-service is not running"; exit 1; }
+token="$(curl -sf -H 'Content-Type: application/json' -d "$login" http://localhost:8081/login \
+    | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')"
+[[ -n "$token" ]] || { echo "could not log in at auth-service on :8081"; exit 1; }
+ticks="$(getconf CLK_TCK)"
+
+cpu_ticks() {
+    awk '{ print $14 + $15 }' "/proc/$pid/stat"
+}
+
+run() {
+    local api="$1" url="$2"
+    local report before after ok rps p99 cpu
+    report="$(mktemp)"
+    before="$(cpu_ticks)"
+    hey -z "$duration" -c "$concurrency" -H "Authorization: Bearer $token" "$url" > "$report"
+    after="$(cpu_ticks)"
+
+    ok="$(awk '/\[200\]/ { print $2 }' "$report")"
+    rps="$(awk '/Requests\/sec/ { printf "%.0f", $2 }' "$report")"
+    p99="$(awk '/ 99% in/ { printf "%.1f", $3 * 1000 }' "$report")"
+    cpu="$(awk -v t="$(( after - before ))" -v hz="$ticks" 'BEGIN { printf "%.1f", t / hz }')"
+    printf '%-9s %-28s %9s %9s %9s %12s\n' "$api" "${url#http://localhost:*/}" "${rps:-0}" "${p99:--}" "$cpu" \
+        "$(awk -v n="${ok:-0}" -v c="$cpu" 'BEGIN { printf "%.0f", c > 0 ? n / c : 0 }')"
+    rm -f "$report"
+}
+
+echo "product-service pid $pid: $concurrency concurrent clients for $duration per run"
+printf '%-9s %-28s %9s %9s %9s %12s\n' "api" "route" "req/s" "p99 ms" "cpu s" "req/cpu-s"
+for route in "products/$product_id" "products?page=0&size=20" "products/category/Electronics"; do
+    run servlet "http://localhost:8082/$route"
+    run reactive "http://localhost:8182/$route"
+done
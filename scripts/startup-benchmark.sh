@@ -0,0 +1,99 @@
+#!/usr/bin/env bash
+#
+# Reports time-to-ready for each service, started from the same jar with and without the
+# fast-startup optimizations (Spring AOT + AppCDS).
+#
+#   mvnw -Pfast-startup -DskipTests verify
+#   scripts/startup-benchmark.sh [runs] [module...]
+#
+# "baseline"  java -jar <module>.jar
+# "optimized" the target/cds layout with -XX:SharedArchiveFile and -Dspring.aot.enabled
+#
+# Time-to-ready is wall-clock time from launching the JVM until the service logs that it
+# is ready: "Started ..." for the registry and the gateway, and the warm-up completion
+# line (instance marked UP in Eureka) for auth-service and product-service. The services
+# need the same infrastructure as a normal start (MySQL, and the registry for the others);
+# each module's port must be free while it is measured.
+
+set -euo pipefail
+
+root="$(cd "$(dirname "$0")/.." && pwd)"
+runs="${1:-3}"
+shift || true
+modules=("$@")
+if [[ ${#modules[@]} -eq 0 ]]; then
+    modules=(service-registry api-gateway auth-service product-service)
+fi
+timeout_s=180
+
+ready_pattern() {
+    case "$1" in
+        auth-service|product-service) echo "Warm-up completed in" ;;
+        *) echo "Started [A-Za-z]* in" ;;
+    esac
+}
+
+# Starts the given command, waits for the ready line and prints the elapsed milliseconds
+# (or "failed"), then stops the JVM.
+measure() {
+    local module="$1" log="$2"
+    shift 2
+    local pattern start pid elapsed=failed
+    pattern="$(ready_pattern "$module")"
+    start=$(date +%s%N)
+    "$@" > "$log" 2>&1 &
+    pid=$!
+    while kill -0 "$pid" 2>/dev/null; do
+        if grep -q "$pattern" "$log"; then
+            elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+            break
+        fi
+        if (( ($(date +%s%N) - start) / 1000000000 > timeout_s )); then
+            break
+        fi
+        sleep 0.05
+    done
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+median() {
+    printf '%s\n' "$@" | grep -v failed | sort -n | awk '{ v[NR] = $1 } END {
+        if (NR == 0) { print "n/a" } else if (NR % 2) { print v[(NR + 1) / 2] } else { print int((v[NR / 2] + v[NR / 2 + 1]) / 2) } }'
+}
+
+printf '%-18s %14s %14s %9s\n' "module" "baseline ms" "optimized ms" "speedup"
+for module in "${modules[@]}"; do
+    target="$root/$module/target"
+    jar="$(ls "$target"/*.jar 2>/dev/null | grep -v -- '-plain.jar$' | head -n 1 || true)"
+    cds="$target/cds"
+    if [[ -z "$jar" ]]; then
+        printf '%-18s %s\n' "$module" "no jar, run mvnw -Pfast-startup -DskipTests verify first"
+        continue
+    fi
+
+    baseline=()
+    optimized=()
+    for ((i = 1; i <= runs; i++)); do
+        baseline+=("$(measure "$module" "$target/benchmark-baseline.log" java -jar "$jar")")
+        if [[ -f "$cds/app.jsa" ]]; then
+            optimized+=("$(measure "$module" "$target/benchmark-optimized.log" \
+                java -XX:SharedArchiveFile="$cds/app.jsa" \
+                    -Dspring.aot.enabled="$(cat "$cds/aot")" \
+                    -Dspring.cloud.refresh.enabled=false \
+                    -cp "$(cat "$cds/classpath")" "$(cat "$cds/main-class")")")
+        fi
+    done
+
+    base_ms="$(median "${baseline[@]}")"
+    opt_ms="n/a"
+    speedup="-"
+    if [[ ${#optimized[@]} -gt 0 ]]; then
+        opt_ms="$(median "${optimized[@]}")"
+    fi
+    if [[ "$base_ms" != "n/a" && "$opt_ms" != "n/a" ]]; then
+        speedup="$(awk -v b="$base_ms" -v o="$opt_ms" 'BEGIN { printf "%.2fx", b / o }')"
+    fi
+    printf '%-18s %14s %14s %9s\n' "$module" "$base_ms" "$opt_ms" "$speedup"
+done
@@ -0,0 +1,21 @@
+package com.microservice.service_registry.feed;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+public class RegistryChangeController {
+
+    private final RegistryChangeFeed registryChangeFeed;
+
+    public RegistryChangeController(RegistryChangeFeed registryChangeFeed) {
+        this.registryChangeFeed = registryChangeFeed;
+    }
+
+    @GetMapping(value = "/registry/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes() {
+        return registryChangeFeed.subscribe();
+    }
+}
@@ -0,0 +1,193 @@
+package com.microservice.service_registry.feed;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.discovery.shared.Application;
+import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceCanceledEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRegisteredEvent;
+import org.springframework.cloud.netflix.eureka.server.event.EurekaInstanceRenewedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams registry changes to subscribers as server-sent events, so clients such as the
+ * gateway learn about new and departed instances immediately instead of on their next poll.
+ *
+ * Each subscriber first receives a snapshot of the whole registry, then an event per
+ * registration, renewal, status change, cancellation or eviction. Renewals are published
+ * too so a subscriber that missed a change converges within one renewal interval.
+ *
+ * Events are queued per subscriber and written on a delivery thread, so Eureka's request
+ * threads never wait on a subscriber's socket. A subscriber that falls more than
+ * max-pending-events behind is dropped; it reconnects and starts from a fresh snapshot.
+ */
+@Component
+public class RegistryChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistryChangeFeed.class);
+
+    private final PeerAwareInstanceRegistry instanceRegistry;
+    private final long streamTimeoutMs;
+    private final int maxPendingEvents;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService delivery = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("registry-feed-", 0).daemon().factory());
+
+    public RegistryChangeFeed(PeerAwareInstanceRegistry instanceRegistry,
+                              @Value("${registry.feed.stream-timeout-ms:1800000}") long streamTimeoutMs,
+                              @Value("${registry.feed.max-pending-events:1000}") int maxPendingEvents) {
+        this.instanceRegistry = instanceRegistry;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.maxPendingEvents = maxPendingEvents;
+    }
+
+    /**
+     * Opens a stream starting with a snapshot. Queueing the snapshot under the feed lock
+     * keeps concurrent changes from being delivered ahead of it.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        synchronized (this) {
+            List<RegistryInstance> instances = new ArrayList<>();
+            for (Application application : instanceRegistry.getSortedApplications()) {
+                for (InstanceInfo info : application.getInstances()) {
+                    instances.add(RegistryInstance.of(info));
+                }
+            }
+            subscriber.enqueue(SseEmitter.event()
+                    .name(RegistryEvent.Type.SNAPSHOT.name())
+                    .data(new RegistryEvent(RegistryEvent.Type.SNAPSHOT, System.currentTimeMillis(), instances)));
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onRegistered(EurekaInstanceRegisteredEvent event) {
+        publish(RegistryEvent.Type.UPSERT, RegistryInstance.of(event.getInstanceInfo()));
+    }
+
+    @EventListener
+    public void onRenewed(EurekaInstanceRenewedEvent event) {
+        if (event.getInstanceInfo() != null) {
+            publish(RegistryEvent.Type.UPSERT, RegistryInstance.of(event.getInstanceInfo()));
+        }
+    }
+
+    @EventListener
+    public void onCanceled(EurekaInstanceCanceledEvent event) {
+        publish(RegistryEvent.Type.CANCEL, RegistryInstance.cancelled(event.getAppName(), event.getServerId()));
+    }
+
+    /**
+     * Comments keep idle streams from being closed by proxies and detect dead subscribers.
+     */
+    @Scheduled(fixedDelayString = "${registry.feed.keep-alive-ms:15000}")
+    public void keepAlive() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    private synchronized void publish(RegistryEvent.Type type, RegistryInstance instance) {
+        RegistryEvent event = new RegistryEvent(type, System.currentTimeMillis(), List.of(instance));
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(SseEmitter.event().name(type.name()).data(event));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        delivery.shutdownNow();
+    }
+
+    /**
+     * A subscriber's pending events, written in order by at most one delivery thread at a time.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                drop(new IllegalStateException("More than " + maxPendingEvents + " events pending"));
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    delivery.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            SseEmitter.SseEventBuilder event;
+            while (!closed && (event = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    drop(e);
+                }
+            }
+            draining.set(false);
+            // An event queued after the last poll but before the flag was cleared
+            if (!closed && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            pending.clear();
+        }
+
+        private void drop(Exception cause) {
+            close();
+            emitter.completeWithError(cause);
+            log.debug("Dropped registry feed subscriber: {}", cause.toString());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.microservice.service_registry.feed;
+
+import java.util.List;
+
+/**
+ * A change feed event. SNAPSHOT carries every registered instance and is always the first
+ * event on a stream; UPSERT and CANCEL carry the one instance that changed.
+ *
+ * @param timestamp registry wall-clock time the change was seen, for propagation lag
+ */
+public record RegistryEvent(Type type, long timestamp, List<RegistryInstance> instances) {
+
+    public enum Type {
+        SNAPSHOT,
+        UPSERT,
+        CANCEL
+    }
+}
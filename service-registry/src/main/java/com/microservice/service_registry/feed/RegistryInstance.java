@@ -0,0 +1,23 @@
+package com.microservice.service_registry.feed;
+
+import com.netflix.appinfo.InstanceInfo;
+
+import java.util.Map;
+
+/**
+ * One service instance as published on the change feed.
+ */
+public record RegistryInstance(String app, String instanceId, String host, int port, boolean secure,
+                               String status, Map<String, String> metadata) {
+
+    static RegistryInstance of(InstanceInfo info) {
+        boolean secure = info.isPortEnabled(InstanceInfo.PortType.SECURE);
+        return new RegistryInstance(info.getAppName(), info.getInstanceId(), info.getHostName(),
+                secure ? info.getSecurePort() : info.getPort(), secure, info.getStatus().name(),
+                info.getMetadata());
+    }
+
+    static RegistryInstance cancelled(String app, String instanceId) {
+        return new RegistryInstance(app, instanceId, null, 0, false, InstanceInfo.InstanceStatus.DOWN.name(), Map.of());
+    }
+}